@@ -0,0 +1,207 @@
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for mixed auth, catalog and upload traffic
+ * Run it once against the app started with VIRTUAL_THREADS_ENABLED=false and once with true,
+ * and compare throughput and p99 per traffic type. Disable rate limiting for the run
+ * (RATE_LIMIT_ENABLED=false) or logins are throttled after a few requests.
+ *
+ *   java backend/bench/MixedLoadBenchmark.java url=http://localhost:8080 \
+ *       email=bench@example.com password=secret concurrency=200 warmup=10 duration=30 \
+ *       mix=auth:1,catalog:8,upload:1 image=/path/to/picture.jpg
+ *
+ * auth:    POST /api/v1/auth/login (BCrypt + refresh-token write)
+ * catalog: GET /api/v1/categories and /api/v1/brands (read-only JPA)
+ * upload:  PUT /api/v1/users/profile/picture (multipart upload to R2); needs image=
+ */
+public class MixedLoadBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            options.put(parts[0], parts.length > 1 ? parts[1] : "");
+        }
+
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        String email = options.get("email");
+        String password = options.get("password");
+        byte[] image = options.containsKey("image") ? Files.readAllBytes(Path.of(options.get("image"))) : null;
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : options.getOrDefault("mix", "auth:1,catalog:8,upload:1").split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        if (email == null || password == null) {
+            mix.remove("auth");
+            mix.remove("upload");
+        }
+        if (image == null) {
+            mix.remove("upload");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String loginBody = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        String token = mix.containsKey("upload") ? login(client, url, loginBody) : null;
+
+        List<String> scenarios = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                scenarios.add(name);
+            }
+        });
+        System.out.printf("Target %s, %d clients, mix %s, %ds warmup + %ds measured%n",
+                url, concurrency, mix, warmup.toSeconds(), duration.toSeconds());
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        List<Thread> workers = new ArrayList<>();
+        List<Map<String, Samples>> results = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Map<String, Samples> samples = new HashMap<>();
+            results.add(samples);
+            workers.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < end) {
+                    String scenario = scenarios.get(ThreadLocalRandom.current().nextInt(scenarios.size()));
+                    HttpRequest request = switch (scenario) {
+                        case "auth" -> HttpRequest.newBuilder(URI.create(url + "/api/v1/auth/login"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                                .build();
+                        case "upload" -> upload(url, token, image);
+                        default -> HttpRequest.newBuilder(URI.create(url + (ThreadLocalRandom.current().nextBoolean()
+                                ? "/api/v1/categories" : "/api/v1/brands"))).GET().build();
+                    };
+
+                    long requestStart = System.nanoTime();
+                    boolean ok;
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        ok = status >= 200 && status < 300;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long requestEnd = System.nanoTime();
+
+                    if (requestStart >= measureFrom && requestEnd <= end) {
+                        samples.computeIfAbsent(scenario, k -> new Samples()).add(requestEnd - requestStart, ok);
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        System.out.printf("%n%-8s %9s %7s %9s %9s %9s %9s%n", "type", "requests", "errors", "req/s", "p50 ms",
+                "p99 ms", "max ms");
+        Samples total = new Samples();
+        for (String scenario : mix.keySet()) {
+            Samples merged = new Samples();
+            results.forEach(samples -> merged.addAll(samples.get(scenario)));
+            total.addAll(merged);
+            merged.print(scenario, duration);
+        }
+        total.print("total", duration);
+    }
+
+    private static String login(HttpClient client, String url, String body) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ACCESS_TOKEN.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed (" + response.statusCode() + "): " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static HttpRequest upload(String url, String token, byte[] image) {
+        String boundary = UUID.randomUUID().toString();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"bench.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(image);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(URI.create(url + "/api/v1/users/profile/picture"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long latencyNanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (other == null) {
+                return;
+            }
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        void print(String name, Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-8s %9d %7d %9.1f %9.1f %9.1f %9.1f%n", name, count, errors,
+                    count / (double) duration.toSeconds(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    count > 0 ? sorted[count - 1] / 1e6 : 0);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.zentro.common.catalog;
+
+import com.zentro.common.dto.ApiResponse;
+import com.zentro.feature.brand.dto.BrandResponse;
+import com.zentro.feature.brand.entity.Brand;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The brand list body rendered per request against the bytes the response cache keeps
+ * render* is what every request did before the cache: map the entities, serialize with Jackson
+ * and, for gzip clients, compress at the default level as Tomcat does. cached* is a hit, which
+ * hands back the stored bytes. Loading the brands is left out, so the gap is a lower bound.
+ * Brands carry three variant URLs and a placeholder the size real ones have.
+ *
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="CatalogResponseCacheBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogResponseCacheBenchmark {
+
+    private static final String PATH = "/api/v1/brands";
+    private static final String MESSAGE = "Brands retrieved successfully";
+
+    @Param({"100", "1000"})
+    private int brands;
+
+    private List<Brand> entities;
+    private ObjectMapper objectMapper;
+    private CatalogResponseCache cache;
+
+    @Setup
+    public void setup() {
+        entities = brands(brands, new Random(42));
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        // Never initialized, so the version stays at 0 and the first get renders the only body
+        CatalogVersion catalogVersion = new CatalogVersion(null, new SimpleMeterRegistry());
+        cache = new CatalogResponseCache(catalogVersion, new CatalogHttpProperties(), objectMapper,
+                new SimpleMeterRegistry());
+        cache.init();
+        cache.register(PATH, this::body);
+        cache.get(PATH);
+    }
+
+    @Benchmark
+    public byte[] renderIdentity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(body());
+    }
+
+    @Benchmark
+    public byte[] renderGzip() throws IOException {
+        byte[] identity = objectMapper.writeValueAsBytes(body());
+        ByteArrayOutputStream out = new ByteArrayOutputStream(identity.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(identity);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cachedIdentity() {
+        return cache.get(PATH).identity();
+    }
+
+    @Benchmark
+    public byte[] cachedGzip() {
+        return cache.get(PATH).gzip();
+    }
+
+    private ApiResponse<List<BrandResponse>> body() {
+        return ApiResponse.stable(MESSAGE, entities.stream().map(BrandResponse::from).toList());
+    }
+
+    private static List<Brand> brands(int count, Random random) {
+        List<Brand> brands = new ArrayList<>(count);
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            String stem = "https://cdn.example.com/brands/" + hex(hash);
+
+            Map<String, String> variants = new LinkedHashMap<>();
+            for (int width : new int[] {128, 384, 1024}) {
+                variants.put(String.valueOf(width), stem + "_w" + width + ".png");
+            }
+            byte[] placeholder = new byte[700];
+            random.nextBytes(placeholder);
+
+            Brand brand = new Brand();
+            brand.setId((long) i + 1);
+            brand.setPublicId("BRD-" + (1790000000 + i) + "-" + Integer.toString(random.nextInt(1 << 30), 36).toUpperCase());
+            brand.setName("Brand " + i);
+            brand.setImageUrl(stem + ".png");
+            brand.setImageVariants(variants);
+            brand.setImagePlaceholder("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(placeholder));
+            brand.setIsFeatured(random.nextInt(10) == 0);
+            brand.setCreatedAt(created.plusMinutes(i));
+            brand.setUpdatedAt(created.plusMinutes(i));
+            brands.add(brand);
+        }
+        return brands;
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
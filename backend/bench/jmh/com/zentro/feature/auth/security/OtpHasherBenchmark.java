@@ -0,0 +1,73 @@
+package com.zentro.feature.auth.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP hashing and verification with the keyed HMAC against the BCrypt path it replaced
+ * BCrypt runs at the app's default strength (app.security.password.bcrypt-strength).
+ *
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="OtpHasherBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OtpHasherBenchmark {
+
+    private static final String OTP = "482913";
+    private static final String EMAIL = "bench@example.com";
+    private static final String PURPOSE = "EMAIL_VERIFICATION";
+
+    private OtpHasher hmac;
+    private BCryptPasswordEncoder bcrypt;
+    private String hmacHash;
+    private String bcryptHash;
+
+    @Setup
+    public void setup() {
+        // Only legacy BCrypt hashes reach the password hashing service, and none are verified here
+        hmac = new OtpHasher(null);
+        ReflectionTestUtils.setField(hmac, "hmacSecret", "0123456789abcdef0123456789abcdef0123456789abcdef");
+        hmac.init();
+        hmacHash = hmac.hash(OTP, EMAIL, PURPOSE);
+
+        bcrypt = new BCryptPasswordEncoder(12);
+        bcryptHash = bcrypt.encode(OTP);
+    }
+
+    @Benchmark
+    public String hmacHash() {
+        return hmac.hash(OTP, EMAIL, PURPOSE);
+    }
+
+    @Benchmark
+    public boolean hmacMatches() {
+        return hmac.matches(OTP, EMAIL, PURPOSE, hmacHash);
+    }
+
+    @Benchmark
+    public String bcryptHash() {
+        return bcrypt.encode(OTP);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcrypt.matches(OTP, bcryptHash);
+    }
+}
@@ -0,0 +1,145 @@
+package com.zentro.feature.search.index;
+
+import com.zentro.feature.search.dto.SuggestionResponse;
+import com.zentro.feature.search.dto.SuggestionType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead queries and segment builds over a synthetic catalog
+ * Brand names are one to three made-up words, some with accents or punctuation, next to a
+ * thousand categories. Each query kind cycles through 1024 queries drawn from the catalog:
+ * prefix1 and prefix3 are the first one and three letters of a name, word is a later word of a
+ * multi-word name, infix is three letters from inside a word, and miss matches nothing.
+ *
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="SuggestionIndexBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestionIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ra", "ne", "to", "vi", "sa", "el", "or", "un", "be", "zu", "qi", "fa",
+            "do", "ri", "mo", "ta", "len", "nor", "vex", "sol", "tek", "bri", "ston", "wel", "ax", "jo", "pe"
+    };
+    private static final int QUERIES = 1024;
+    private static final int LIMIT = 10;
+
+    @Param({"100000"})
+    private int brands;
+
+    private List<SuggestionSource> brandSources;
+    private SuggestionIndex.Snapshot snapshot;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        brandSources = sources(SuggestionType.BRAND, brands, random);
+        snapshot = new SuggestionIndex.Snapshot(
+                SuggestionSegment.build(brandSources),
+                SuggestionSegment.build(sources(SuggestionType.CATEGORY, 1000, random)));
+    }
+
+    @Benchmark
+    public List<SuggestionResponse> suggest(Queries queries) {
+        return snapshot.suggest(queries.next(), LIMIT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public SuggestionSegment buildBrandSegment() {
+        return SuggestionSegment.build(brandSources);
+    }
+
+    /**
+     * Queries of one kind drawn from the catalog, kept apart so only query benchmarks vary by kind
+     */
+    @State(Scope.Thread)
+    public static class Queries {
+
+        @Param({"prefix1", "prefix3", "word", "infix", "miss"})
+        private String kind;
+
+        private String[] queries;
+        private int next;
+
+        @Setup
+        public void setup(SuggestionIndexBenchmark catalog) {
+            Random random = new Random(7);
+            queries = new String[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                queries[i] = query(catalog.brandSources, random);
+            }
+        }
+
+        String next() {
+            return queries[next++ & (QUERIES - 1)];
+        }
+
+        private String query(List<SuggestionSource> sources, Random random) {
+            String[] words = SuggestionSegment.normalize(sources.get(random.nextInt(sources.size())).name()).split(" ");
+            return switch (kind) {
+                case "prefix1" -> words[0].substring(0, 1);
+                case "prefix3" -> words[0].substring(0, Math.min(3, words[0].length()));
+                case "word" -> words.length > 1 ? words[words.length - 1] : query(sources, random);
+                case "infix" -> words[0].length() >= 5 ? words[0].substring(1, 4) : query(sources, random);
+                case "miss" -> "qxj" + (char) ('a' + random.nextInt(26));
+                default -> throw new IllegalArgumentException(kind);
+            };
+        }
+    }
+
+    private static List<SuggestionSource> sources(SuggestionType type, int count, Random random) {
+        List<SuggestionSource> sources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int words = 1 + random.nextInt(3);
+            StringBuilder name = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    name.append(' ');
+                }
+                name.append(word(random));
+            }
+            int decoration = random.nextInt(20);
+            if (decoration == 0) {
+                name.append(" & Co.");
+            } else if (decoration == 1) {
+                name.append("é");
+            }
+            sources.add(new SuggestionSource(type, type.name() + "-" + i, name.toString(), random.nextInt(20) == 0));
+        }
+        return sources;
+    }
+
+    private static String word(Random random) {
+        int syllables = 2 + random.nextInt(3);
+        StringBuilder word = new StringBuilder();
+        for (int s = 0; s < syllables; s++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
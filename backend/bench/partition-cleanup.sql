@@ -0,0 +1,118 @@
+-- Compares expiry cleanup on a plain refresh_tokens-style table (batched DELETE, as the
+-- old cleanup job did) with a daily range-partitioned one (DROP TABLE on a partition).
+-- Works in a scratch schema that is dropped at the end; timings are reported as NOTICEs.
+--
+--   psql "$DATABASE_URL" -f backend/bench/partition-cleanup.sql
+--
+-- 2M rows spread evenly over 8 days of expires_at; the oldest day has expired.
+
+DROP SCHEMA IF EXISTS partition_bench CASCADE;
+CREATE SCHEMA partition_bench;
+SET search_path = partition_bench;
+
+CREATE TABLE plain (
+    id         BIGSERIAL PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    token_hash VARCHAR(255) NOT NULL UNIQUE,
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX plain_user_id ON plain (user_id);
+CREATE INDEX plain_expires_at ON plain (expires_at);
+
+CREATE TABLE part (
+    id         BIGSERIAL,
+    user_id    BIGINT       NOT NULL,
+    token_hash VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, expires_at)
+) PARTITION BY RANGE (expires_at);
+CREATE INDEX part_user_id ON part (user_id);
+CREATE INDEX part_token_hash ON part (token_hash);
+
+DO $$
+DECLARE
+    day DATE;
+BEGIN
+    FOR day IN SELECT generate_series(current_date - 1, current_date + 6, INTERVAL '1 day')::date LOOP
+        EXECUTE format('CREATE TABLE part_%s PARTITION OF part FOR VALUES FROM (%L) TO (%L)',
+                to_char(day, 'YYYYMMDD'), day, day + 1);
+    END LOOP;
+END $$;
+
+INSERT INTO plain (user_id, token_hash, expires_at, created_at)
+SELECT n % 100000,
+       md5(n::text) || md5((n * 7)::text),
+       (current_date - 1) + (n % 8) * INTERVAL '1 day' + (n % 86400) * INTERVAL '1 second',
+       now()
+FROM generate_series(1, 2000000) AS n;
+
+INSERT INTO part (user_id, token_hash, expires_at, created_at)
+SELECT user_id, token_hash, expires_at, created_at FROM plain;
+
+VACUUM ANALYZE plain;
+VACUUM ANALYZE part;
+
+CREATE TABLE results (
+    layout  TEXT,
+    stage   TEXT,
+    heap    TEXT,
+    indexes TEXT,
+    ms      NUMERIC
+);
+
+INSERT INTO results
+SELECT 'plain', 'before', pg_size_pretty(pg_table_size('plain')),
+       pg_size_pretty(pg_indexes_size('plain')), NULL::NUMERIC
+UNION ALL
+SELECT 'partitioned', 'before', pg_size_pretty(sum(pg_table_size(inhrelid))),
+       pg_size_pretty(sum(pg_indexes_size(inhrelid))), NULL
+FROM pg_inherits WHERE inhparent = 'part'::regclass;
+
+-- Old cleanup job: keyset DELETE of the expired day in 1000-row batches
+DO $$
+DECLARE
+    started TIMESTAMPTZ := clock_timestamp();
+    deleted INT;
+    last_id BIGINT := 0;
+BEGIN
+    LOOP
+        WITH batch AS (
+            DELETE FROM plain WHERE id IN (
+                SELECT id FROM plain
+                WHERE id > last_id AND expires_at < current_date
+                ORDER BY id LIMIT 1000
+            )
+            RETURNING id
+        )
+        SELECT count(*), coalesce(max(id), last_id) INTO deleted, last_id FROM batch;
+        EXIT WHEN deleted < 1000;
+    END LOOP;
+    INSERT INTO results VALUES ('plain', 'delete', NULL, NULL,
+            round(extract(EPOCH FROM clock_timestamp() - started) * 1000, 1));
+END $$;
+
+-- Partitioned: drop the expired day
+DO $$
+DECLARE
+    started TIMESTAMPTZ := clock_timestamp();
+BEGIN
+    EXECUTE format('DROP TABLE part_%s', to_char(current_date - 1, 'YYYYMMDD'));
+    INSERT INTO results VALUES ('partitioned', 'drop', NULL, NULL,
+            round(extract(EPOCH FROM clock_timestamp() - started) * 1000, 1));
+END $$;
+
+-- The DELETE leaves dead tuples behind for (auto)vacuum; the dropped partition leaves nothing
+INSERT INTO results
+SELECT 'plain', 'after', pg_size_pretty(pg_table_size('plain')),
+       pg_size_pretty(pg_indexes_size('plain')), NULL::NUMERIC
+UNION ALL
+SELECT 'partitioned', 'after', pg_size_pretty(sum(pg_table_size(inhrelid))),
+       pg_size_pretty(sum(pg_indexes_size(inhrelid))), NULL
+FROM pg_inherits WHERE inhparent = 'part'::regclass;
+
+SELECT * FROM results;
+
+RESET search_path;
+DROP SCHEMA partition_bench CASCADE;
@@ -0,0 +1,32 @@
+package com.zentro.common.catalog;
+
+import java.util.Set;
+
+/**
+ * Brands and categories written between the version a node served and the one it moves to
+ * When the change log no longer covers the whole range, complete is false and the ID sets
+ * are empty; listeners then reload everything.
+ */
+public record CatalogChanges(boolean complete, Set<String> brandIds, Set<String> categoryIds) {
+
+    /**
+     * Changes of unknown extent, as when a node falls behind the retained change log
+     */
+    public static CatalogChanges unknown() {
+        return new CatalogChanges(false, Set.of(), Set.of());
+    }
+
+    /**
+     * Whether any brand may have changed
+     */
+    public boolean touchesBrands() {
+        return !complete || !brandIds.isEmpty();
+    }
+
+    /**
+     * Whether any category may have changed
+     */
+    public boolean touchesCategories() {
+        return !complete || !categoryIds.isEmpty();
+    }
+}
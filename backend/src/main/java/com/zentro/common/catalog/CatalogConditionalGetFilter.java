@@ -0,0 +1,250 @@
+package com.zentro.common.catalog;
+
+import com.zentro.common.datasource.PrimaryReads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Conditional GET and cached bodies for public catalog endpoints
+ * Catalog responses only change when the catalog version does, so the version is their ETag.
+ * A request whose If-None-Match holds the current ETag is answered 304 here, before
+ * authentication and without reaching a controller. List endpoints in the response cache are
+ * answered with their stored bytes, gzipped when the client accepts it; these carry a strong
+ * ETag, and gzip bodies get their own since they are a different representation. Other
+ * requests go through and get a weak ETag and Cache-Control on a 200, leaving the container
+ * free to compress them; errors are sent without them.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogConditionalGetFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_NAME = "zentro.catalog.http.responses";
+
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache responseCache;
+    private final CatalogHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private Counter notModifiedCounter;
+    private Counter fullCounter;
+
+    @PostConstruct
+    public void init() {
+        this.notModifiedCounter = responseCounter("not_modified", "Catalog requests answered 304 from the ETag");
+        this.fullCounter = responseCounter("full", "Catalog requests that needed a full response");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return true;
+        }
+        String path = path(request);
+        return properties.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String path = path(request);
+        boolean cached = responseCache.serves(path);
+        boolean gzip = cached && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        // Read before the handler runs, so the body is never older than the tag it goes out with
+        long version = catalogVersion.current();
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), version)) {
+            notModifiedCounter.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, cached ? etag(version, gzip) : weakEtag(version));
+            response.setHeader(HttpHeaders.CACHE_CONTROL, properties.getCacheControl());
+            if (cached) {
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            return;
+        }
+
+        fullCounter.increment();
+        if (cached) {
+            writeCached(request, response, responseCache.get(path), gzip);
+            return;
+        }
+        // Read from the primary so the body is not older than the version tag, even if a replica lags
+        try (PrimaryReads.Scope ignored = PrimaryReads.open()) {
+            filterChain.doFilter(request, new TaggedResponse(response, weakEtag(version)));
+        }
+    }
+
+    /**
+     * Write a cached body straight to the response
+     */
+    private void writeCached(HttpServletRequest request, HttpServletResponse response,
+                             CatalogResponseCache.CachedBody body, boolean gzip) throws IOException {
+        byte[] bytes = gzip ? body.gzip() : body.identity();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, etag(body.version(), gzip));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, properties.getCacheControl());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        if (!HttpMethod.HEAD.matches(request.getMethod())) {
+            response.getOutputStream().write(bytes);
+        }
+    }
+
+    /**
+     * Strong ETag for one representation of the catalog at a version
+     */
+    public static String etag(long version, boolean gzip) {
+        return "\"c" + version + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    /**
+     * Weak ETag for responses the controllers render
+     * Tomcat does not compress a response that carries a strong ETag, since the compressed
+     * bytes would no longer match it.
+     */
+    public static String weakEtag(long version) {
+        return "W/" + etag(version, false);
+    }
+
+    /**
+     * Weak comparison against an If-None-Match list, as RFC 9110 asks for GET
+     * Either representation's tag matches, since both hold the same data.
+     */
+    private static boolean matches(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String identity = etag(version, false);
+        String gzip = etag(version, true);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(identity) || tag.equals(gzip)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip, i.e. lists gzip or * without q=0
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("x-gzip") && !coding.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") && isZero(param.substring(2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private Counter responseCounter(String outcome, String description) {
+        return Counter.builder(METRIC_NAME)
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds the validators once the response turns out to be a 200, before anything is written
+     */
+    private final class TaggedResponse extends HttpServletResponseWrapper {
+
+        private final String etag;
+        private boolean tagged;
+
+        TaggedResponse(HttpServletResponse response, String etag) {
+            super(response);
+            this.etag = etag;
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            super.setStatus(sc);
+            tag();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            tag();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            tag();
+            return super.getWriter();
+        }
+
+        private void tag() {
+            if (!tagged && getStatus() == HttpServletResponse.SC_OK) {
+                tagged = true;
+                setHeader(HttpHeaders.ETAG, etag);
+                setHeader(HttpHeaders.CACHE_CONTROL, properties.getCacheControl());
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.zentro.common.catalog;
+
+/**
+ * Kinds of rows whose writes bump the catalog version
+ */
+public enum CatalogEntity {
+    BRAND,
+    CATEGORY
+}
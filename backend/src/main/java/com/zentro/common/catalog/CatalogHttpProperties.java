@@ -0,0 +1,41 @@
+package com.zentro.common.catalog;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conditional GET configuration for public catalog endpoints, bound from app.catalog.http
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.catalog.http")
+public class CatalogHttpProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Ant-style paths whose GET responses only change with the catalog version
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/v1/brands/**", "/api/v1/categories/**"));
+
+    /**
+     * Cache-Control sent with catalog responses and 304s
+     */
+    private String cacheControl = "public, max-age=60";
+
+    private ResponseCache responseCache = new ResponseCache();
+
+    /**
+     * Serialized, compressed bodies of the list endpoints, kept per catalog version
+     */
+    @Data
+    public static class ResponseCache {
+
+        private boolean enabled = true;
+    }
+}
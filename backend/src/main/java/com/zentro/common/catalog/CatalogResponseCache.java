@@ -0,0 +1,177 @@
+package com.zentro.common.catalog;
+
+import com.zentro.common.datasource.PrimaryReads;
+import com.zentro.common.dto.ApiResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized, pre-compressed bodies of the public catalog list endpoints
+ * Each registered path is rendered once per catalog version: the response is built, serialized
+ * to JSON and gzipped, and the bytes are kept until the version moves. Requests are then
+ * answered by writing the bytes as they are, with no mapping, serialization or compression.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogResponseCache {
+
+    private static final String METRIC_PREFIX = "zentro.catalog.response.cache";
+
+    private final CatalogVersion catalogVersion;
+    private final CatalogHttpProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+    private Counter renderCounter;
+    private Timer renderTimer;
+
+    @PostConstruct
+    public void init() {
+        this.hitCounter = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("outcome", "hit")
+                .description("Catalog requests answered from cached bytes")
+                .register(meterRegistry);
+        this.renderCounter = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("outcome", "render")
+                .description("Catalog requests that rendered a new version of the body")
+                .register(meterRegistry);
+        this.renderTimer = Timer.builder(METRIC_PREFIX + ".render.duration")
+                .description("Time to build, serialize and compress one cached body")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Serve a path from the cache
+     *
+     * @param path Request path without the context path, matched exactly
+     * @param response Builds the full response body; called once per catalog version
+     */
+    public void register(String path, Supplier<ApiResponse<?>> response) {
+        entries.put(path, new Entry(path, response));
+    }
+
+    /**
+     * Whether requests for a path are answered from the cache
+     */
+    public boolean serves(String path) {
+        return properties.getResponseCache().isEnabled() && entries.containsKey(path);
+    }
+
+    /**
+     * The cached body for a path at the current catalog version, rendering it if needed
+     *
+     * @return The body, or null if the path is not cached or caching is off
+     */
+    public CachedBody get(String path) {
+        if (!properties.getResponseCache().isEnabled()) {
+            return null;
+        }
+        Entry entry = entries.get(path);
+        return entry != null ? entry.current() : null;
+    }
+
+    /**
+     * One rendered body in every encoding, and the catalog version it was rendered at
+     */
+    public record CachedBody(long version, byte[] identity, byte[] gzip) {
+    }
+
+    private final class Entry {
+
+        private final String path;
+        private final Supplier<ApiResponse<?>> response;
+        // Renders query the database, and requests parked on a monitor would pin their carriers
+        private final ReentrantLock renderLock = new ReentrantLock();
+        private volatile CachedBody body;
+
+        Entry(String path, Supplier<ApiResponse<?>> response) {
+            this.path = path;
+            this.response = response;
+        }
+
+        CachedBody current() {
+            CachedBody cached = body;
+            if (cached != null && cached.version() == catalogVersion.current()) {
+                hitCounter.increment();
+                return cached;
+            }
+            return render();
+        }
+
+        /**
+         * Only one request renders a version; the rest wait for it and share the bytes
+         */
+        private CachedBody render() {
+            renderLock.lock();
+            try {
+                // Read before building, so the body is never older than the version it is tagged with
+                long version = catalogVersion.current();
+                CachedBody cached = body;
+                if (cached != null && cached.version() == version) {
+                    hitCounter.increment();
+                    return cached;
+                }
+
+                long start = System.nanoTime();
+                // Built from the primary: a lagging replica would cache older data under this version
+                try (PrimaryReads.Scope ignored = PrimaryReads.open()) {
+                    byte[] identity = objectMapper.writeValueAsBytes(response.get());
+                    cached = new CachedBody(version, identity, gzip(identity));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Failed to serialize cached response for " + path, e);
+                }
+                body = cached;
+
+                renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                renderCounter.increment();
+                log.debug("Rendered {} at catalog version {} ({} bytes, {} gzipped)",
+                        path, version, cached.identity().length, cached.gzip().length);
+                return cached;
+            } finally {
+                renderLock.unlock();
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        // Compressed once per version, so spend the CPU on the smallest output
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,199 @@
+package com.zentro.common.catalog;
+
+import com.zentro.common.util.ThreadFactories;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Version number of the public catalog (brands and categories)
+ * Every catalog write bumps the shared counter in catalog_version within its transaction and
+ * records the brand or category it was for in catalog_changes; this node takes the new value
+ * once the write commits, and other nodes pick it up by polling. Listeners such as the category
+ * tree are handed the entities written since the version they last saw and refreshed before a
+ * new version is published, so a response tagged with a version never carries older data than
+ * that version. If a listener fails, the old version stays published and the next poll tries
+ * again. Local writes are published from a refresh thread rather than the writer's request
+ * thread, and bumps that queue up behind a running refresh are applied together.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogVersion {
+
+    private static final String BUMP_SQL = "UPDATE catalog_version SET version = version + 1 WHERE id = 1 RETURNING version";
+
+    private static final String CURRENT_SQL = "SELECT version FROM catalog_version WHERE id = 1";
+
+    private static final String RECORD_SQL = "INSERT INTO catalog_changes (version, entity, public_id) VALUES (?, ?, ?)";
+
+    private static final String PRUNE_SQL = "DELETE FROM catalog_changes WHERE version <= ?";
+
+    private static final String CHANGES_SQL =
+            "SELECT entity, public_id FROM catalog_changes WHERE version > ? AND version <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final List<Consumer<CatalogChanges>> listeners = new CopyOnWriteArrayList<>();
+
+    // Listeners reload from the database, so waiting on a monitor would pin virtual threads
+    private final ReentrantLock advanceLock = new ReentrantLock();
+
+    // Highest version committed on this node that a refresh has yet to publish
+    private final AtomicLong committed = new AtomicLong();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.catalog.change-log-retention:1000}")
+    private long changeLogRetention;
+
+    private volatile long version;
+    private ExecutorService refresher;
+
+    @PostConstruct
+    public void init() {
+        this.version = jdbcTemplate.queryForObject(CURRENT_SQL, Long.class);
+        this.refresher = Executors.newSingleThreadExecutor(ThreadFactories.blocking("catalog-refresh", virtualThreads));
+        Gauge.builder("zentro.catalog.version", this, CatalogVersion::current)
+                .description("Catalog version this node is serving")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * The version this node is currently serving
+     */
+    public long current() {
+        return version;
+    }
+
+    /**
+     * Run an action with what changed whenever the version moves, before the new version is published
+     */
+    public void onChange(Consumer<CatalogChanges> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Bump the version as part of the current catalog write
+     * The new version is published on this node shortly after the transaction commits.
+     *
+     * @param entity Kind of row written
+     * @param publicId Public ID of the row written, created or deleted
+     */
+    public void bump(CatalogEntity entity, String publicId) {
+        long bumped = jdbcTemplate.queryForObject(BUMP_SQL, Long.class);
+        jdbcTemplate.update(RECORD_SQL, bumped, entity.name(), publicId);
+        jdbcTemplate.update(PRUNE_SQL, bumped - changeLogRetention);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(bumped);
+                }
+            });
+        } else {
+            publish(bumped);
+        }
+    }
+
+    /**
+     * Pick up versions bumped by writes on other nodes
+     */
+    @Scheduled(
+            initialDelayString = "${app.catalog.version-poll-interval-ms:5000}",
+            fixedDelayString = "${app.catalog.version-poll-interval-ms:5000}"
+    )
+    public void poll() {
+        try {
+            advanceTo(jdbcTemplate.queryForObject(CURRENT_SQL, Long.class));
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll catalog version: {}", e.getMessage());
+        }
+    }
+
+    private void publish(long bumped) {
+        committed.accumulateAndGet(bumped, Math::max);
+        refresher.execute(() -> advanceTo(committed.get()));
+    }
+
+    private void advanceTo(long newVersion) {
+        advanceLock.lock();
+        try {
+            if (newVersion <= version) {
+                return;
+            }
+            CatalogChanges changes;
+            try {
+                changes = changesBetween(version, newVersion);
+            } catch (RuntimeException e) {
+                log.error("Failed to read catalog changes, staying on version {}", version, e);
+                return;
+            }
+            for (Consumer<CatalogChanges> listener : listeners) {
+                try {
+                    listener.accept(changes);
+                } catch (RuntimeException e) {
+                    log.error("Catalog version listener failed, staying on version {}", version, e);
+                    return;
+                }
+            }
+            version = newVersion;
+            log.debug("Catalog version is now {}", newVersion);
+        } finally {
+            advanceLock.unlock();
+        }
+    }
+
+    /**
+     * Entities written in the versions after from, up to and including to
+     * Each version has one row, so a missing row means it was pruned or bumped before the log existed.
+     */
+    private CatalogChanges changesBetween(long from, long to) {
+        List<Change> rows = jdbcTemplate.query(CHANGES_SQL, (rs, rowNum) ->
+                new Change(CatalogEntity.valueOf(rs.getString("entity")), rs.getString("public_id")), from, to);
+        if (rows.size() != to - from) {
+            return CatalogChanges.unknown();
+        }
+        return new CatalogChanges(true, idsOf(rows, CatalogEntity.BRAND), idsOf(rows, CatalogEntity.CATEGORY));
+    }
+
+    private static Set<String> idsOf(List<Change> rows, CatalogEntity entity) {
+        return rows.stream()
+                .filter(row -> row.entity() == entity)
+                .map(Change::publicId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private record Change(CatalogEntity entity, String publicId) {
+    }
+}
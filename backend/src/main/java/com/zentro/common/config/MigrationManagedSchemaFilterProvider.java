@@ -0,0 +1,66 @@
+package com.zentro.common.config;
+
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.schema.spi.SchemaFilter;
+import org.hibernate.tool.schema.spi.SchemaFilterProvider;
+
+import java.util.Set;
+
+/**
+ * Keeps Hibernate's ddl-auto away from tables owned by Flyway migrations
+ * Hibernate does not understand partitioned tables and would try to recreate or alter them.
+ * Registered through spring.jpa.properties.hibernate.hbm2ddl.schema_filter_provider.
+ */
+public class MigrationManagedSchemaFilterProvider implements SchemaFilterProvider {
+
+    /**
+     * Tables created and changed only by db/migration scripts
+     */
+    public static final Set<String> MIGRATION_MANAGED_TABLES = Set.of(
+            "otp_verifications", "refresh_tokens", "image_objects", "catalog_version", "catalog_changes",
+            "categories", "category_closure", "users", "rate_limit_buckets", "maintenance_jobs");
+
+    private static final SchemaFilter FILTER = new SchemaFilter() {
+        @Override
+        public boolean includeNamespace(Namespace namespace) {
+            return true;
+        }
+
+        @Override
+        public boolean includeTable(Table table) {
+            return !MIGRATION_MANAGED_TABLES.contains(table.getName());
+        }
+
+        @Override
+        public boolean includeSequence(Sequence sequence) {
+            return true;
+        }
+    };
+
+    @Override
+    public SchemaFilter getCreateFilter() {
+        return FILTER;
+    }
+
+    @Override
+    public SchemaFilter getDropFilter() {
+        return FILTER;
+    }
+
+    @Override
+    public SchemaFilter getTruncatorFilter() {
+        return FILTER;
+    }
+
+    @Override
+    public SchemaFilter getMigrateFilter() {
+        return FILTER;
+    }
+
+    @Override
+    public SchemaFilter getValidateFilter() {
+        return FILTER;
+    }
+}
@@ -1,10 +1,13 @@
 package com.zentro.common.config;
 
+import com.zentro.common.catalog.CatalogConditionalGetFilter;
+import com.zentro.common.ratelimit.RateLimitFilter;
 import com.zentro.common.security.CustomAuthenticationEntryPoint;
 import com.zentro.common.security.JwtAuthenticationFilter;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,10 +19,15 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Security Configuration
  * Configures Spring Security, JWT authentication, and authorization
@@ -31,6 +39,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final CatalogConditionalGetFilter catalogConditionalGetFilter;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
     
     /**
@@ -53,22 +63,39 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/categories/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/brands/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/banners/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/search/**").permitAll()
                         
                         // Protected endpoints (require authentication)
                         .requestMatchers("/actuator/**").authenticated()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Rate limiting runs first so rejected requests skip token checks and the database
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+                // Unchanged catalog responses are answered 304 before token checks
+                .addFilterAfter(catalogConditionalGetFilter, RateLimitFilter.class);
         
         return http.build();
     }
     
     /**
      * Password encoder bean
+     * Hashes with the configured algorithm and flags older hashes for upgrade on login
+     * Legacy hashes without an {id} prefix are treated as BCrypt
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password.encoding-id:bcrypt}") String encodingId,
+            @Value("${app.security.password.bcrypt-strength:12}") int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encodingId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
     }
     
     /**
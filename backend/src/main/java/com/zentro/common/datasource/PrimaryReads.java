@@ -0,0 +1,59 @@
+package com.zentro.common.datasource;
+
+/**
+ * Marks work whose reads must come from the primary even inside read-only transactions
+ * Used where data read on a replica could be older than a version already read from the
+ * primary, such as catalog snapshots published under the catalog version. Has no effect
+ * when no replica is configured. Connections are taken lazily, so transactions started
+ * inside the scope are covered.
+ *
+ * <pre>
+ * try (PrimaryReads.Scope ignored = PrimaryReads.open()) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Send this thread's reads to the primary until the scope is closed
+     */
+    public static Scope open() {
+        if (isActive()) {
+            return new Scope(false);
+        }
+        ACTIVE.set(Boolean.TRUE);
+        return new Scope(true);
+    }
+
+    /**
+     * Whether the current thread is inside a scope
+     */
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * An open scope; only the outermost one clears the mark when closed
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final boolean outermost;
+
+        private Scope(boolean outermost) {
+            this.outermost = outermost;
+        }
+
+        @Override
+        public void close() {
+            if (outermost) {
+                ACTIVE.remove();
+            }
+        }
+    }
+}
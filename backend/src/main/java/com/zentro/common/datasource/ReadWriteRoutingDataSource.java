@@ -0,0 +1,154 @@
+package com.zentro.common.datasource;
+
+import com.zentro.common.security.UserPrincipal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary
+ * A user who just committed a write keeps reading from the primary for the sticky window so
+ * they see their own changes despite replication lag. If the replica cannot hand out a
+ * connection, reads fall back to the primary until retry-after has passed. Work inside a
+ * {@link PrimaryReads} scope always reads from the primary.
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction's read-only flag is
+ * only known once the transaction has started, after the connection would normally be taken.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private static final String METRIC_NAME = "zentro.datasource.routes";
+
+    // Expired sticky entries are pruned on every Nth write
+    private static final int PRUNE_INTERVAL = 1024;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long stickyWindowNanos;
+    private final long retryAfterNanos;
+
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private volatile long replicaDownUntil = System.nanoTime();
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter fallbackRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stickyWindowNanos = properties.getStickyWindow().toNanos();
+        this.retryAfterNanos = properties.getRetryAfter().toNanos();
+
+        this.primaryRoutes = routeCounter(meterRegistry, "primary", "Connections taken from the primary pool");
+        this.replicaRoutes = routeCounter(meterRegistry, "replica", "Read-only connections taken from the replica");
+        this.fallbackRoutes = routeCounter(meterRegistry, "fallback",
+                "Read-only connections sent to the primary because the replica failed");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            primaryRoutes.increment();
+            return primary.getConnection();
+        }
+
+        Long userId = currentUserId();
+        if (PrimaryReads.isActive() || !replicaAvailable() || (userId != null && isSticky(userId))) {
+            primaryRoutes.increment();
+            return primary.getConnection();
+        }
+
+        try {
+            Connection connection = replica.getConnection();
+            replicaRoutes.increment();
+            return connection;
+        } catch (SQLException e) {
+            replicaDownUntil = System.nanoTime() + retryAfterNanos;
+            log.warn("Replica unavailable, reading from the primary for the next {} s: {}",
+                    TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos), e.getMessage());
+            fallbackRoutes.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    /**
+     * Keep the user on the primary for the sticky window once a read-write transaction commits
+     */
+    private void trackWrite() {
+        if (stickyWindowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long userId = currentUserId();
+        if (userId == null) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickyUntil.put(userId, System.nanoTime() + stickyWindowNanos);
+                if (writes.incrementAndGet() % PRUNE_INTERVAL == 0) {
+                    long now = System.nanoTime();
+                    stickyUntil.values().removeIf(until -> now - until >= 0);
+                }
+            }
+        });
+    }
+
+    private boolean isSticky(Long userId) {
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        stickyUntil.remove(userId, until);
+        return false;
+    }
+
+    private boolean replicaAvailable() {
+        return System.nanoTime() - replicaDownUntil >= 0;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target, String description) {
+        return Counter.builder(METRIC_NAME)
+                .tag("target", target)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
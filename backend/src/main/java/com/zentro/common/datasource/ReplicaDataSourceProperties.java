@@ -0,0 +1,47 @@
+package com.zentro.common.datasource;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Read replica configuration bound from app.datasource.replica
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Route read-only transactions to the replica; when false everything uses the primary pool
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    private int minimumIdle = 2;
+
+    /**
+     * Kept short so reads fall back to the primary quickly when the replica is down or saturated
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /**
+     * After a user's own write their reads stay on the primary this long, covering replication lag
+     */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /**
+     * After the replica fails to hand out a connection, reads go to the primary this long
+     */
+    private Duration retryAfter = Duration.ofSeconds(30);
+}
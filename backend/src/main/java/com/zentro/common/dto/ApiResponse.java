@@ -40,6 +40,19 @@ public class ApiResponse<T> {
                 .build();
     }
     
+    /**
+     * Create success response without a timestamp
+     * The body is then the same for every request at one catalog version, so it can carry an ETag
+     */
+    public static <T> ApiResponse<T> stable(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .timestamp(null)
+                .build();
+    }
+    
     /**
      * Create success response without data
      */
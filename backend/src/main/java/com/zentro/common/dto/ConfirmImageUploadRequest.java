@@ -0,0 +1,21 @@
+package com.zentro.common.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO confirming a presigned upload has finished
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfirmImageUploadRequest {
+
+    @NotBlank(message = "Upload key is required")
+    private String key;
+}
@@ -1,11 +1,24 @@
 package com.zentro.common.exception;
 
+import lombok.Getter;
+
 /**
  * Exception thrown when rate limit is exceeded
  */
+@Getter
 public class RateLimitExceededException extends ZentroException {
+
+    /**
+     * Seconds the client should wait before retrying (null if unknown)
+     */
+    private final Long retryAfterSeconds;
     
     public RateLimitExceededException(String message) {
+        this(message, null);
+    }
+
+    public RateLimitExceededException(String message, Long retryAfterSeconds) {
         super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 }
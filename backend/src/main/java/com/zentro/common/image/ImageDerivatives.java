@@ -0,0 +1,28 @@
+package com.zentro.common.image;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Encoded variants of one uploaded image and its inline placeholder
+ */
+@Value
+public class ImageDerivatives {
+
+    List<Variant> variants;
+
+    /**
+     * Tiny blurred preview as a data: URI, shown while a variant loads
+     */
+    String placeholder;
+
+    @Value
+    public static class Variant {
+
+        int width;
+        String contentType;
+        String extension;
+        byte[] bytes;
+    }
+}
@@ -0,0 +1,17 @@
+package com.zentro.common.image;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * A content-addressed image in R2 as recorded in image_objects: the original's key, its variant
+ * keys by width, and the placeholder
+ */
+@Value
+public class ImageObject {
+
+    String key;
+    Map<String, String> variants;
+    String placeholder;
+}
@@ -0,0 +1,175 @@
+package com.zentro.common.image;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reference counts for content-addressed images, kept in the image_objects table
+ * Identical uploads share one set of objects, so an image is only deleted once no brand,
+ * category or user row uses it. Counts change in the caller's transaction, together with the
+ * rows that point at the image. A count that drops to zero starts the retention window;
+ * image-collection deletes the objects after it, and uploads of the same image before then
+ * bring it back. Claims and registrations commit on their own and must run before the
+ * caller's transaction opens, so an upload never holds two pooled connections at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageObjectStore {
+
+    private static final TypeReference<Map<String, String>> VARIANTS_TYPE = new TypeReference<>() {
+    };
+
+    // An unused image being reused starts its retention window again, so it is not collected under the caller
+    private static final String CLAIM_SQL = """
+            UPDATE image_objects
+            SET released_at = CASE WHEN ref_count = 0 THEN now() ELSE released_at END
+            WHERE object_key = :key
+            RETURNING object_key, variants, placeholder
+            """;
+
+    private static final String REGISTER_SQL = """
+            INSERT INTO image_objects (object_key, variants, placeholder, ref_count, released_at)
+            VALUES (:key, CAST(:variants AS jsonb), :placeholder, 0, now())
+            ON CONFLICT (object_key) DO UPDATE SET released_at =
+                CASE WHEN image_objects.ref_count = 0 THEN now() ELSE image_objects.released_at END
+            """;
+
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO image_objects (object_key, variants, placeholder, ref_count)
+            VALUES (:key, CAST(:variants AS jsonb), :placeholder, 1)
+            ON CONFLICT (object_key) DO UPDATE SET ref_count = image_objects.ref_count + 1, released_at = NULL
+            """;
+
+    // One reference per occurrence, so two rows sharing an image released together count twice
+    private static final String RELEASE_SQL = """
+            WITH released AS (
+                SELECT key, count(*) AS n FROM unnest(CAST(ARRAY[:keys] AS text[])) AS key GROUP BY key
+            )
+            UPDATE image_objects o SET
+                ref_count = greatest(o.ref_count - r.n, 0),
+                released_at = CASE WHEN o.ref_count <= r.n THEN now() ELSE o.released_at END
+            FROM released r
+            WHERE o.object_key = r.key
+            RETURNING o.object_key
+            """;
+
+    private static final String LOCK_UNUSED_SQL = """
+            SELECT object_key, variants, placeholder FROM image_objects
+            WHERE ref_count = 0 AND released_at < :cutoff
+            ORDER BY released_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM image_objects WHERE object_key IN (:keys) AND ref_count = 0";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Look up a stored image for reuse, keeping it from being collected meanwhile
+     *
+     * @return The image, or empty if it was never stored or has been collected
+     */
+    public Optional<ImageObject> claim(String key) {
+        requireNoTransaction();
+        return jdbcTemplate.query(CLAIM_SQL, new MapSqlParameterSource("key", key), this::mapRow)
+                .stream().findFirst();
+    }
+
+    /**
+     * Record a freshly uploaded image with no references yet
+     * If no row ever acquires it, it is collected once the retention window passes.
+     */
+    public void register(ImageObject image) {
+        requireNoTransaction();
+        jdbcTemplate.update(REGISTER_SQL, params(image));
+    }
+
+    /**
+     * Count one more row pointing at an image
+     */
+    public void acquire(ImageObject image) {
+        jdbcTemplate.update(ACQUIRE_SQL, params(image));
+    }
+
+    /**
+     * Count one row fewer for each key
+     *
+     * @return Keys that have no row, i.e. images stored before reference counting
+     */
+    public Set<String> release(Collection<String> keys) {
+        Set<String> untracked = new HashSet<>(keys);
+        if (!keys.isEmpty()) {
+            untracked.removeAll(jdbcTemplate.queryForList(RELEASE_SQL,
+                    new MapSqlParameterSource("keys", List.copyOf(keys)), String.class));
+        }
+        return untracked;
+    }
+
+    /**
+     * Lock images unused since before the cutoff, for collection in the current transaction
+     */
+    public List<ImageObject> lockUnused(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.query(LOCK_UNUSED_SQL, new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", limit), this::mapRow);
+    }
+
+    /**
+     * Forget collected images
+     */
+    public void delete(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("keys", keys));
+        }
+    }
+
+    private void requireNoTransaction() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Images are claimed and registered before the transaction that attaches them");
+        }
+    }
+
+    private MapSqlParameterSource params(ImageObject image) {
+        try {
+            return new MapSqlParameterSource()
+                    .addValue("key", image.getKey())
+                    .addValue("variants", image.getVariants() != null
+                            ? objectMapper.writeValueAsString(image.getVariants())
+                            : null)
+                    .addValue("placeholder", image.getPlaceholder());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize image variants", e);
+        }
+    }
+
+    private ImageObject mapRow(ResultSet rs, int rowNum) throws SQLException {
+        String variants = rs.getString("variants");
+        try {
+            return new ImageObject(rs.getString("object_key"),
+                    variants != null ? objectMapper.readValue(variants, VARIANTS_TYPE) : null,
+                    rs.getString("placeholder"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read image variants", e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.zentro.common.image;
+
+import com.zentro.common.exception.BadRequestException;
+import com.zentro.common.util.ThreadFactories;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Decodes an uploaded image once and renders its resized variants and placeholder in parallel
+ * Runs on a fixed pool of platform threads sized to the CPUs, so a burst of uploads queues
+ * instead of oversubscribing the machine. Opaque images become JPEG variants; images with an
+ * alpha channel become PNG so transparency survives (the JDK has no WebP encoder).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageProcessor {
+
+    private static final float PLACEHOLDER_QUALITY = 0.5f;
+
+    private final ImageProperties properties;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    public void start() {
+        // Image work is CPU-bound, so the pool keeps platform threads even in virtual-thread mode
+        this.pool = Executors.newFixedThreadPool(properties.getThreads(), ThreadFactories.blocking("image", false));
+        ImageIO.setUseCache(false);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Render the configured variants and the placeholder of an uploaded image
+     *
+     * @param file Upload already checked to carry a JPEG, PNG or GIF signature
+     */
+    public ImageDerivatives render(MultipartFile file) {
+        try {
+            BufferedImage image = CompletableFuture.supplyAsync(() -> decode(file), pool).join();
+
+            List<CompletableFuture<ImageDerivatives.Variant>> variants = properties.getVariantWidths().stream()
+                    .filter(width -> width < image.getWidth())
+                    .map(width -> CompletableFuture.supplyAsync(() -> variant(image, width), pool))
+                    .toList();
+            CompletableFuture<String> placeholder = CompletableFuture.supplyAsync(() -> placeholder(image), pool);
+
+            return new ImageDerivatives(variants.stream().map(CompletableFuture::join).toList(), placeholder.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BadRequestException badRequest) {
+                throw badRequest;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Decode the first frame, subsampled while reading when the original is far larger than
+     * the biggest variant, so a huge upload never becomes a huge bitmap
+     */
+    private BufferedImage decode(MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream();
+             ImageInputStream imageStream = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageStream);
+            if (!readers.hasNext()) {
+                throw new BadRequestException("Image could not be read");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageStream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > properties.getMaxPixels()) {
+                    throw new BadRequestException("Image dimensions are too large");
+                }
+
+                int largest = properties.getVariantWidths().stream().max(Integer::compare).orElse(width);
+                int subsampling = Math.max(1, width / (largest * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to decode uploaded image: {}", e.getMessage());
+            throw new BadRequestException("Image could not be read");
+        }
+    }
+
+    private ImageDerivatives.Variant variant(BufferedImage image, int width) {
+        BufferedImage scaled = scale(image, width);
+        return image.getColorModel().hasAlpha()
+                ? new ImageDerivatives.Variant(width, "image/png", "png", encode(scaled, "png", 0))
+                : new ImageDerivatives.Variant(width, "image/jpeg", "jpg", encode(scaled, "jpeg", properties.getQuality()));
+    }
+
+    private String placeholder(BufferedImage image) {
+        BufferedImage scaled = scale(image, Math.min(properties.getPlaceholderWidth(), image.getWidth()));
+
+        // JPEG has no alpha; flatten transparent images onto white
+        BufferedImage opaque = new BufferedImage(scaled.getWidth(), scaled.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = opaque.createGraphics();
+        graphics.drawImage(scaled, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+
+        return "data:image/jpeg;base64,"
+                + Base64.getEncoder().encodeToString(encode(opaque, "jpeg", PLACEHOLDER_QUALITY));
+    }
+
+    /**
+     * Downscale in halving steps with bilinear filtering, which keeps detail that a single
+     * large bilinear step would alias away
+     */
+    private static BufferedImage scale(BufferedImage image, int targetWidth) {
+        int targetHeight = Math.max(1, Math.round(image.getHeight() * (float) targetWidth / image.getWidth()));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, String format, float quality) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed() && "jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
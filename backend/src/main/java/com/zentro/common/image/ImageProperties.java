@@ -0,0 +1,49 @@
+package com.zentro.common.image;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Derivative settings for uploaded images, bound from app.storage.images
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.storage.images")
+public class ImageProperties {
+
+    /**
+     * Widths of the resized variants; widths at or above the original's are skipped
+     */
+    private List<Integer> variantWidths = List.of(128, 384, 1024);
+
+    /**
+     * JPEG quality of the variants, 0.0 to 1.0
+     */
+    private float quality = 0.82f;
+
+    /**
+     * Width of the inline blurred placeholder (LQIP)
+     */
+    private int placeholderWidth = 16;
+
+    /**
+     * Uploads with more pixels than this are rejected before they are decoded
+     */
+    private long maxPixels = 40_000_000L;
+
+    /**
+     * Size of the CPU-bound pool that decodes, resizes and encodes images
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * How long an image no row uses is kept before image-collection deletes it; identical
+     * uploads in that window reuse it
+     */
+    private Duration unusedRetention = Duration.ofHours(24);
+}
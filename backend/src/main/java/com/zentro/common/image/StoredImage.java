@@ -0,0 +1,32 @@
+package com.zentro.common.image;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An uploaded image in R2: the original, its resized variants keyed by width, and the placeholder
+ */
+@Value
+public class StoredImage {
+
+    String url;
+    Map<String, String> variants;
+    String placeholder;
+
+    /**
+     * Every object URL belonging to an image, for deleting it
+     */
+    public static List<String> urls(String url, Map<String, String> variants) {
+        List<String> urls = new ArrayList<>();
+        if (url != null && !url.isEmpty()) {
+            urls.add(url);
+        }
+        if (variants != null) {
+            urls.addAll(variants.values());
+        }
+        return urls;
+    }
+}
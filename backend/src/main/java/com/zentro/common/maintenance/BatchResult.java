@@ -0,0 +1,28 @@
+package com.zentro.common.maintenance;
+
+import lombok.Value;
+
+/**
+ * Outcome of one maintenance job batch
+ */
+@Value
+public class BatchResult {
+
+    int processed;
+    String checkpoint;
+    boolean done;
+
+    /**
+     * More work remains; the next batch resumes from the checkpoint
+     */
+    public static BatchResult more(int processed, String checkpoint) {
+        return new BatchResult(processed, checkpoint, false);
+    }
+
+    /**
+     * The job has caught up; the next run starts from the beginning
+     */
+    public static BatchResult done(int processed) {
+        return new BatchResult(processed, null, true);
+    }
+}
@@ -0,0 +1,90 @@
+package com.zentro.common.maintenance;
+
+import com.zentro.common.image.ImageObject;
+import com.zentro.common.image.ImageObjectStore;
+import com.zentro.common.image.ImageProperties;
+import com.zentro.common.image.StoredImage;
+import com.zentro.common.service.R2StorageService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deletes content-addressed images that no row has used for the retention window
+ * Each batch locks unused image_objects rows, deletes their objects from R2 and then the rows,
+ * all in one transaction: an upload reusing one of the images waits on the lock and, once the
+ * row is gone, uploads the image again instead of pointing at deleted objects.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageCollectionJob implements MaintenanceJob {
+
+    private final ImageObjectStore imageObjectStore;
+    private final R2StorageService r2StorageService;
+    private final ImageProperties imageProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public String getName() {
+        return "image-collection";
+    }
+
+    @Override
+    public BatchResult runBatch(String checkpoint, int batchSize) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(imageProperties.getUnusedRetention());
+        // Each image has an original and a few variants; keep one batch within one DeleteObjects request
+        int limit = Math.max(1, Math.min(batchSize, R2StorageService.MAX_DELETE_KEYS / 8));
+
+        Collected collected = transactionTemplate.execute(status -> {
+            List<ImageObject> unused = imageObjectStore.lockUnused(cutoff, limit);
+            if (unused.isEmpty()) {
+                return new Collected(0, 0);
+            }
+
+            List<String> urls = new ArrayList<>();
+            for (ImageObject image : unused) {
+                StoredImage stored = r2StorageService.toStoredImage(image);
+                urls.addAll(StoredImage.urls(stored.getUrl(), stored.getVariants()));
+            }
+            Set<String> failed = new HashSet<>();
+            for (int i = 0; i < urls.size(); i += R2StorageService.MAX_DELETE_KEYS) {
+                failed.addAll(r2StorageService.deleteBatch(
+                        urls.subList(i, Math.min(i + R2StorageService.MAX_DELETE_KEYS, urls.size()))));
+            }
+
+            // Images with an object left behind keep their row and are retried on the next run
+            List<String> deleted = unused.stream()
+                    .filter(image -> {
+                        StoredImage stored = r2StorageService.toStoredImage(image);
+                        return StoredImage.urls(stored.getUrl(), stored.getVariants()).stream().noneMatch(failed::contains);
+                    })
+                    .map(ImageObject::getKey)
+                    .toList();
+            imageObjectStore.delete(deleted);
+            return new Collected(unused.size(), deleted.size());
+        });
+
+        if (collected == null || collected.locked() == 0) {
+            return BatchResult.done(0);
+        }
+        log.info("Collected {} unused images from R2", collected.deleted());
+
+        // Stop on failures so rows left behind are not picked up again in the same run
+        return collected.locked() < limit || collected.deleted() < collected.locked()
+                ? BatchResult.done(collected.deleted())
+                : BatchResult.more(collected.deleted(), null);
+    }
+
+    private record Collected(int locked, int deleted) {
+    }
+}
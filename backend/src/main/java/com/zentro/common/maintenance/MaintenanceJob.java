@@ -0,0 +1,22 @@
+package com.zentro.common.maintenance;
+
+/**
+ * A background maintenance job run in bounded batches by the MaintenanceJobRunner
+ * Only one node runs a given job at a time; progress is checkpointed after every batch.
+ */
+public interface MaintenanceJob {
+
+    /**
+     * Unique job name, used for the lock, checkpoint row, metrics and admin endpoint
+     */
+    String getName();
+
+    /**
+     * Process one batch
+     *
+     * @param checkpoint Checkpoint returned by the previous batch, or null to start from the beginning
+     * @param batchSize Most rows to process in this batch
+     * @return Rows processed, the new checkpoint, and whether the job has finished
+     */
+    BatchResult runBatch(String checkpoint, int batchSize);
+}
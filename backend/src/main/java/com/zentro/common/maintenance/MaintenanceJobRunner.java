@@ -0,0 +1,311 @@
+package com.zentro.common.maintenance;
+
+import com.zentro.common.exception.DuplicateResourceException;
+import com.zentro.common.exception.ResourceNotFoundException;
+import com.zentro.common.util.Constants;
+import com.zentro.common.util.ThreadFactories;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs maintenance jobs in bounded batches on exactly one node
+ * Each run holds a Postgres session advisory lock on a dedicated connection, so a job that is
+ * already running anywhere in the cluster is skipped. If the node dies the connection closes,
+ * the lock is released, and the next run resumes from the last saved checkpoint. Progress is
+ * kept in the maintenance_jobs table, created by V7.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MaintenanceJobRunner implements SchedulingConfigurer {
+
+    private static final String METRIC_PREFIX = "zentro.maintenance";
+
+    private static final String START_SQL = """
+            INSERT INTO maintenance_jobs (job_name, status, checkpoint, rows_processed, last_started_at)
+            VALUES (:name, 'RUNNING', :checkpoint, 0, now())
+            ON CONFLICT (job_name) DO UPDATE SET
+                status = 'RUNNING', checkpoint = :checkpoint, rows_processed = 0,
+                last_started_at = now(), last_error = NULL
+            """;
+
+    private static final String CHECKPOINT_SQL =
+            "UPDATE maintenance_jobs SET checkpoint = :checkpoint, rows_processed = :rows WHERE job_name = :name";
+
+    private static final String FINISH_SQL = """
+            UPDATE maintenance_jobs
+            SET status = :status, checkpoint = :checkpoint, last_finished_at = now(), last_error = :error
+            WHERE job_name = :name
+            """;
+
+    private static final String SELECT_SQL = "SELECT * FROM maintenance_jobs";
+
+    private final List<MaintenanceJob> jobs;
+    private final MaintenanceProperties properties;
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Set<String> runningLocally = ConcurrentHashMap.newKeySet();
+
+    private Map<String, MaintenanceJob> jobsByName;
+    private ExecutorService executor;
+    private volatile boolean shuttingDown;
+
+    @PostConstruct
+    public void init() {
+        this.jobsByName = jobs.stream().collect(Collectors.toMap(MaintenanceJob::getName, Function.identity()));
+        this.executor = Executors.newFixedThreadPool(2, ThreadFactories.blocking("maintenance", virtualThreads));
+
+        log.info("Maintenance jobs registered: {}", jobsByName.keySet());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        shuttingDown = true;
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Register each job's cron schedule; scheduled runs are handed to the job pool
+     * so long jobs never hold up the shared scheduler thread
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        for (MaintenanceJob job : jobs) {
+            MaintenanceProperties.Job settings = properties.job(job.getName());
+            if (settings.isEnabled() && settings.getCron() != null && !settings.getCron().isBlank()) {
+                registrar.addCronTask(() -> submit(job), settings.getCron());
+            }
+        }
+    }
+
+    /**
+     * Start a job now (admin trigger)
+     * Throws if the job does not exist or is already running on this node
+     */
+    public void trigger(String name) {
+        MaintenanceJob job = jobsByName.get(name);
+        if (job == null) {
+            throw new ResourceNotFoundException(Constants.ERROR_MAINTENANCE_JOB_NOT_FOUND);
+        }
+        if (!submit(job)) {
+            throw new DuplicateResourceException(Constants.ERROR_MAINTENANCE_JOB_RUNNING);
+        }
+    }
+
+    /**
+     * Latest persisted state of every registered job
+     */
+    public List<MaintenanceJobState> getStates() {
+        Map<String, MaintenanceJobState> saved = jdbcTemplate.query(SELECT_SQL, STATE_MAPPER).stream()
+                .collect(Collectors.toMap(MaintenanceJobState::getName, Function.identity()));
+
+        return jobsByName.keySet().stream()
+                .sorted()
+                .map(name -> saved.getOrDefault(name, MaintenanceJobState.builder().name(name).build()))
+                .toList();
+    }
+
+    /**
+     * Queue a run unless one is already in progress on this node
+     */
+    private boolean submit(MaintenanceJob job) {
+        if (!runningLocally.add(job.getName())) {
+            return false;
+        }
+
+        executor.execute(() -> {
+            try {
+                runWithLock(job);
+            } finally {
+                runningLocally.remove(job.getName());
+            }
+        });
+        return true;
+    }
+
+    private void runWithLock(MaintenanceJob job) {
+        long lockKey = lockKey(job.getName());
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)", lockKey)) {
+                log.debug("Maintenance job {} is running on another node, skipping", job.getName());
+                Counter.builder(METRIC_PREFIX + ".skipped")
+                        .tag("job", job.getName())
+                        .description("Runs skipped because another node held the job lock")
+                        .register(meterRegistry)
+                        .increment();
+                return;
+            }
+
+            try {
+                execute(job);
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(?)", lockKey);
+            }
+        } catch (SQLException e) {
+            log.error("Maintenance job {} could not acquire its lock", job.getName(), e);
+        }
+    }
+
+    /**
+     * Run batches until the job is done, the run time limit is hit, or the app shuts down
+     */
+    private void execute(MaintenanceJob job) {
+        String name = job.getName();
+        Integer batchSizeOverride = properties.job(name).getBatchSize();
+        int batchSize = batchSizeOverride != null ? batchSizeOverride : properties.getBatchSize();
+
+        // Resume from the checkpoint unless the previous run finished
+        MaintenanceJobState previous = loadState(name);
+        String checkpoint = previous != null && previous.getStatus() != MaintenanceJobStatus.COMPLETED
+                ? previous.getCheckpoint()
+                : null;
+
+        jdbcTemplate.update(START_SQL, new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("checkpoint", checkpoint));
+
+        Counter rowsCounter = Counter.builder(METRIC_PREFIX + ".rows")
+                .tag("job", name)
+                .description("Rows processed by maintenance jobs")
+                .register(meterRegistry);
+
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxRunDuration().toNanos();
+        long processed = 0;
+        MaintenanceJobStatus status;
+        String error = null;
+
+        try {
+            while (true) {
+                BatchResult result = job.runBatch(checkpoint, batchSize);
+                processed += result.getProcessed();
+                rowsCounter.increment(result.getProcessed());
+                checkpoint = result.getCheckpoint();
+
+                jdbcTemplate.update(CHECKPOINT_SQL, new MapSqlParameterSource()
+                        .addValue("name", name)
+                        .addValue("checkpoint", checkpoint)
+                        .addValue("rows", processed));
+
+                if (result.isDone()) {
+                    status = MaintenanceJobStatus.COMPLETED;
+                    break;
+                }
+                if (shuttingDown || System.nanoTime() > deadline) {
+                    status = MaintenanceJobStatus.PARTIAL;
+                    break;
+                }
+                Thread.sleep(properties.getPause().toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = MaintenanceJobStatus.PARTIAL;
+        } catch (RuntimeException e) {
+            log.error("Maintenance job {} failed after {} rows", name, processed, e);
+            status = MaintenanceJobStatus.FAILED;
+            error = Objects.toString(e.getMessage(), e.getClass().getSimpleName());
+            error = error.length() > 500 ? error.substring(0, 500) : error;
+        }
+
+        jdbcTemplate.update(FINISH_SQL, new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("status", status.name())
+                .addValue("checkpoint", status == MaintenanceJobStatus.COMPLETED ? null : checkpoint)
+                .addValue("error", error));
+
+        long elapsed = System.nanoTime() - start;
+        Timer.builder(METRIC_PREFIX + ".run.duration")
+                .tag("job", name)
+                .tag("status", status.name().toLowerCase())
+                .description("Duration of maintenance job runs")
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        log.info("Maintenance job {} {} after {} rows in {} ms",
+                name, status.name().toLowerCase(), processed, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private MaintenanceJobState loadState(String name) {
+        List<MaintenanceJobState> states = jdbcTemplate.query(SELECT_SQL + " WHERE job_name = :name",
+                new MapSqlParameterSource("name", name), STATE_MAPPER);
+        return states.isEmpty() ? null : states.get(0);
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, long key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Stable 64-bit lock key per job name
+     */
+    private static long lockKey(String name) {
+        return UUID.nameUUIDFromBytes(("zentro.maintenance." + name).getBytes(StandardCharsets.UTF_8))
+                .getMostSignificantBits();
+    }
+
+    private static final RowMapper<MaintenanceJobState> STATE_MAPPER = (rs, rowNum) -> MaintenanceJobState.builder()
+            .name(rs.getString("job_name"))
+            .status(MaintenanceJobStatus.valueOf(rs.getString("status")))
+            .checkpoint(rs.getString("checkpoint"))
+            .rowsProcessed(rs.getLong("rows_processed"))
+            .lastStartedAt(toLocalDateTime(rs.getTimestamp("last_started_at")))
+            .lastFinishedAt(toLocalDateTime(rs.getTimestamp("last_finished_at")))
+            .lastError(rs.getString("last_error"))
+            .build();
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.zentro.common.maintenance;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted progress of a maintenance job (one row per job in maintenance_jobs)
+ */
+@Value
+@Builder
+public class MaintenanceJobState {
+
+    String name;
+    MaintenanceJobStatus status;
+    String checkpoint;
+    long rowsProcessed;
+    LocalDateTime lastStartedAt;
+    LocalDateTime lastFinishedAt;
+    String lastError;
+}
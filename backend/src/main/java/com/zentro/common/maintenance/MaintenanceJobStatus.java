@@ -0,0 +1,14 @@
+package com.zentro.common.maintenance;
+
+/**
+ * Outcome of a maintenance job's latest run
+ */
+public enum MaintenanceJobStatus {
+    RUNNING,
+    COMPLETED,
+    /**
+     * Stopped at the run time limit or on shutdown; the next run resumes from the checkpoint
+     */
+    PARTIAL,
+    FAILED
+}
@@ -0,0 +1,86 @@
+package com.zentro.common.maintenance;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintenance job configuration bound from app.maintenance
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.maintenance")
+public class MaintenanceProperties {
+
+    /**
+     * Disables scheduled runs; jobs can still be triggered from the admin endpoint
+     */
+    private boolean enabled = true;
+
+    private int batchSize = 1000;
+
+    /**
+     * Sleep between batches so cleanup never saturates the database
+     */
+    private Duration pause = Duration.ofMillis(200);
+
+    /**
+     * A run stops after this long and the next run resumes from its checkpoint
+     */
+    private Duration maxRunDuration = Duration.ofMinutes(10);
+
+    /**
+     * Per-job settings keyed by job name
+     */
+    private Map<String, Job> jobs = new HashMap<>();
+
+    /**
+     * Daily range-partitioned tables kept by the partition-maintenance job, keyed by table name
+     */
+    private Map<String, PartitionedTable> partitions = new HashMap<>();
+
+    public Job job(String name) {
+        return jobs.getOrDefault(name, new Job());
+    }
+
+    /**
+     * Settings for a single job
+     */
+    @Data
+    public static class Job {
+
+        private boolean enabled = true;
+
+        /**
+         * Spring cron expression; no schedule means the job only runs when triggered
+         */
+        private String cron;
+
+        /**
+         * Overrides the default batch size
+         */
+        private Integer batchSize;
+    }
+
+    /**
+     * Partition window for a table partitioned by day on its expiry column
+     */
+    @Data
+    public static class PartitionedTable {
+
+        /**
+         * Create partitions this many days ahead; must cover the longest TTL written to the table
+         */
+        private int premakeDays = 3;
+
+        /**
+         * Keep a partition this long after its last row expired before dropping it
+         */
+        private Duration retention = Duration.ZERO;
+    }
+}
@@ -0,0 +1,231 @@
+package com.zentro.common.maintenance;
+
+import com.zentro.common.service.R2DeletionQueue;
+import com.zentro.common.service.R2StorageService;
+import com.zentro.common.util.Constants;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds objects in R2 that no database row points at and reports or deletes them
+ * Objects leak when an upload succeeds but its transaction does not commit, or a delete is lost.
+ * Each folder is walked with ListObjectsV2 one page at a time, and the image references for the
+ * page's key range are streamed from the database in the same order through a cursor; the two
+ * sorted streams are merged, so memory stays at one page however many keys there are.
+ * Unreferenced objects younger than the safety window are left alone, since their row may not
+ * have committed yet. The checkpoint is the folder and the last key checked.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageReconciliationJob implements MaintenanceJob {
+
+    private static final String METRIC_PREFIX = "zentro.storage.reconciliation";
+
+    // ListObjectsV2 returns at most 1000 keys per page
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String CHECKPOINT_SEPARATOR = "|";
+
+    /**
+     * Folders and the columns that reference objects in them (original URL, variant URL map)
+     */
+    private static final List<ReferenceSource> SOURCES = List.of(
+            new ReferenceSource(Constants.R2_FOLDER_BRANDS, "brands", "image_url", "image_variants"),
+            new ReferenceSource(Constants.R2_FOLDER_CATEGORIES, "categories", "image_url", "image_variants"),
+            new ReferenceSource(Constants.R2_FOLDER_PROFILE_PICTURES, "users",
+                    "profile_picture_url", "profile_picture_variants")
+    );
+
+    // Keys are cut from the URL at the folder, so references survive a change of public URL.
+    // Images in image_objects belong to the image-collection job, whether or not a row uses them.
+    private static final String REFERENCES_SQL = """
+            SELECT key FROM (
+                SELECT substr(%2$s, strpos(%2$s, :marker) + 1) AS key
+                FROM %1$s WHERE strpos(%2$s, :marker) > 0
+                UNION ALL
+                SELECT substr(v.value, strpos(v.value, :marker) + 1)
+                FROM %1$s CROSS JOIN LATERAL jsonb_each_text(%3$s) v WHERE strpos(v.value, :marker) > 0
+                UNION ALL
+                SELECT object_key FROM image_objects WHERE starts_with(object_key, :prefix)
+                UNION ALL
+                SELECT v.value FROM image_objects CROSS JOIN LATERAL jsonb_each_text(variants) v
+                WHERE starts_with(object_key, :prefix)
+            ) refs
+            WHERE key COLLATE "C" > :after %4$s
+            ORDER BY key COLLATE "C"
+            """;
+
+    private static final String UPPER_BOUND_SQL = "AND key COLLATE \"C\" <= :upTo";
+
+    private final R2StorageService r2StorageService;
+    private final R2DeletionQueue r2DeletionQueue;
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.storage.cloudflare.r2.reconciliation.delete-orphans:false}")
+    private boolean deleteOrphans;
+
+    @Value("${app.storage.cloudflare.r2.reconciliation.min-age:24h}")
+    private Duration minAge;
+
+    private NamedParameterJdbcTemplate streamingTemplate;
+    private TransactionTemplate readOnlyTransaction;
+
+    private Counter referencedCounter;
+    private Counter orphanedCounter;
+    private Counter recentCounter;
+    private Counter missingCounter;
+
+    @PostConstruct
+    public void init() {
+        // Postgres only streams through a cursor with a fetch size inside a transaction
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(PAGE_SIZE);
+        this.streamingTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        this.referencedCounter = objectCounter("referenced", "Stored objects referenced by a row");
+        this.orphanedCounter = objectCounter("orphaned", "Unreferenced objects older than the safety window");
+        this.recentCounter = objectCounter("recent", "Unreferenced objects still inside the safety window");
+        this.missingCounter = Counter.builder(METRIC_PREFIX + ".missing")
+                .description("Row references to objects that do not exist")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return "storage-reconciliation";
+    }
+
+    @Override
+    public BatchResult runBatch(String checkpoint, int batchSize) {
+        int sourceIndex = 0;
+        String after = "";
+        if (checkpoint != null) {
+            int separator = checkpoint.indexOf(CHECKPOINT_SEPARATOR);
+            String folder = checkpoint.substring(0, separator);
+            sourceIndex = Math.max(0, SOURCES.stream().map(ReferenceSource::folder).toList().indexOf(folder));
+            after = checkpoint.substring(separator + 1);
+        }
+
+        ReferenceSource source = SOURCES.get(sourceIndex);
+        String prefix = source.folder() + "/";
+        Instant cutoff = Instant.now().minus(minAge);
+        int processed = 0;
+
+        while (processed < batchSize) {
+            ListObjectsV2Response page = r2StorageService.listFiles(
+                    prefix, after.isEmpty() ? null : after, Math.min(PAGE_SIZE, batchSize - processed));
+            List<S3Object> objects = page.contents();
+            boolean folderDone = !Boolean.TRUE.equals(page.isTruncated());
+
+            // The last page also takes every reference past it, so dangling ones are counted
+            String upTo = folderDone || objects.isEmpty() ? null : objects.get(objects.size() - 1).key();
+            reconcile(source, objects, after, upTo, cutoff);
+            processed += objects.size();
+
+            if (folderDone) {
+                if (sourceIndex + 1 == SOURCES.size()) {
+                    return BatchResult.done(processed);
+                }
+                return BatchResult.more(processed, SOURCES.get(sourceIndex + 1).folder() + CHECKPOINT_SEPARATOR);
+            }
+            after = upTo;
+        }
+
+        return BatchResult.more(processed, source.folder() + CHECKPOINT_SEPARATOR + after);
+    }
+
+    /**
+     * Merge one page of stored keys with the references in the same key range
+     */
+    private void reconcile(ReferenceSource source, List<S3Object> objects, String after, String upTo, Instant cutoff) {
+        String sql = REFERENCES_SQL.formatted(source.table(), source.urlColumn(), source.variantsColumn(),
+                upTo != null ? UPPER_BOUND_SQL : "");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("marker", "/" + source.folder() + "/")
+                .addValue("prefix", source.folder() + "/")
+                .addValue("after", after)
+                .addValue("upTo", upTo);
+
+        List<String> orphans = new ArrayList<>();
+        int[] next = {0};
+        String[] previous = {null};
+        readOnlyTransaction.executeWithoutResult(status -> streamingTemplate.query(sql, params, rs -> {
+            String reference = rs.getString(1);
+            if (reference.equals(previous[0])) {
+                return;
+            }
+            previous[0] = reference;
+
+            while (next[0] < objects.size() && objects.get(next[0]).key().compareTo(reference) < 0) {
+                unreferenced(objects.get(next[0]++), cutoff, orphans);
+            }
+            if (next[0] < objects.size() && objects.get(next[0]).key().equals(reference)) {
+                referencedCounter.increment();
+                next[0]++;
+            } else {
+                missingCounter.increment();
+                log.debug("Row references missing object {}", reference);
+            }
+        }));
+        while (next[0] < objects.size()) {
+            unreferenced(objects.get(next[0]++), cutoff, orphans);
+        }
+
+        if (orphans.isEmpty()) {
+            return;
+        }
+        if (deleteOrphans) {
+            log.info("Deleting {} orphaned objects from {}", orphans.size(), source.folder());
+            r2DeletionQueue.deleteAfterCommit(orphans.stream().map(r2StorageService::fileUrl).toList());
+        } else {
+            log.info("Found {} orphaned objects in {} (deletion disabled): {}", orphans.size(), source.folder(), orphans);
+        }
+    }
+
+    private void unreferenced(S3Object object, Instant cutoff, List<String> orphans) {
+        if (object.lastModified().isBefore(cutoff)) {
+            orphanedCounter.increment();
+            orphans.add(object.key());
+        } else {
+            recentCounter.increment();
+        }
+    }
+
+    private Counter objectCounter(String outcome, String description) {
+        return Counter.builder(METRIC_PREFIX + ".objects")
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private record ReferenceSource(String folder, String table, String urlColumn, String variantsColumn) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.zentro.common.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory token-bucket rate limiter
+ * Buckets are spread over lock stripes, each a bounded LRU map, so contention stays low
+ * and memory stays bounded no matter how many distinct keys clients send.
+ * Limits are per node; use the distributed mode when running more than one node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rate-limit.mode", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private Stripe[] stripes;
+
+    @PostConstruct
+    public void init() {
+        int maxKeysPerStripe = Math.max(1, properties.getMaxKeys() / STRIPES);
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(maxKeysPerStripe);
+        }
+
+        Gauge.builder("zentro.ratelimit.keys", this, InMemoryRateLimiter::trackedKeys)
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimitProperties.Policy policy) {
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        long now = System.nanoTime();
+
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(policy.getCapacity(), now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryConsume(policy, now);
+        }
+    }
+
+    /**
+     * Evict buckets that have refilled completely
+     * A full bucket is what a new key starts with, so dropping one never loosens a limit.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int evicted = 0;
+
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                int before = stripe.buckets.size();
+                stripe.buckets.values().removeIf(bucket -> now - bucket.fullAtNanos >= 0);
+                evicted += before - stripe.buckets.size();
+            }
+        }
+
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private int trackedKeys() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.buckets.size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * One lock stripe: an access-ordered map that drops its least recently used bucket when full
+     */
+    private static final class Stripe {
+
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        private Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    /**
+     * Token bucket state, guarded by its stripe lock
+     */
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+        // When the bucket will be full again if left alone
+        private long fullAtNanos;
+
+        private Bucket(long capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+            this.fullAtNanos = now;
+        }
+
+        private RateLimitDecision tryConsume(RateLimitProperties.Policy policy, long now) {
+            double rate = policy.refillRatePerNano();
+            tokens = Math.min(policy.getCapacity(), tokens + (now - lastRefillNanos) * rate);
+            lastRefillNanos = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                fullAtNanos = now + (long) Math.ceil((policy.getCapacity() - tokens) / rate);
+                return RateLimitDecision.allowed();
+            }
+
+            long nanosUntilToken = (long) Math.ceil((1 - tokens) / rate);
+            return RateLimitDecision.rejected((nanosUntilToken + 999_999_999L) / 1_000_000_000L);
+        }
+    }
+}
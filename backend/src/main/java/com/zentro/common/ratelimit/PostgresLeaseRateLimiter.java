@@ -0,0 +1,227 @@
+package com.zentro.common.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cluster-wide token-bucket rate limiter backed by an UNLOGGED Postgres table (created by V6)
+ * Each node leases a small batch of tokens per key with one upsert and spends them locally,
+ * so the database sees one write per batch instead of one per request.
+ * Leased tokens are debited from the shared bucket up front: a node that dies (or lets its
+ * lease expire) forfeits what it did not spend, which makes the limit stricter, never looser.
+ * Rejections are cached locally until the next token is due so blocked clients cost no queries.
+ * If the database is unreachable requests are let through (fail open) and counted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rate-limit.mode", havingValue = "distributed")
+public class PostgresLeaseRateLimiter implements RateLimiter {
+
+    private static final String METRIC_PREFIX = "zentro.ratelimit";
+
+    // Tokens in the bucket after refilling for the time since the last lease
+    private static final String AVAILABLE =
+            "LEAST(:capacity, b.tokens + EXTRACT(EPOCH FROM (now() - b.refilled_at)) * :rate)";
+
+    private static final String GRANTED = "LEAST(:batch, FLOOR(" + AVAILABLE + "))";
+
+    private static final String REMAINING = "(" + AVAILABLE + " - " + GRANTED + ")";
+
+    // One statement per lease: create a full bucket or refill the existing one, then take up to a batch.
+    // full_at records when the bucket will be full again so idle rows can be dropped without loosening limits.
+    private static final String LEASE_SQL = """
+            INSERT INTO rate_limit_buckets AS b (bucket_key, tokens, granted, refilled_at, full_at)
+            VALUES (:key, :capacity - :initialGrant, :initialGrant, now(),
+                    now() + make_interval(secs => :initialGrant / :rate))
+            ON CONFLICT (bucket_key) DO UPDATE SET
+                granted = %2$s,
+                tokens = %3$s,
+                refilled_at = now(),
+                full_at = now() + make_interval(secs => (:capacity - %3$s) / :rate)
+            RETURNING granted, tokens
+            """.formatted(AVAILABLE, GRANTED, REMAINING);
+
+    private static final String DELETE_FULL_SQL = "DELETE FROM rate_limit_buckets WHERE full_at < now()";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private Counter leasesGrantedCounter;
+    private Counter leasesExhaustedCounter;
+    private Counter errorCounter;
+
+    @PostConstruct
+    public void init() {
+        this.leasesGrantedCounter = Counter.builder(METRIC_PREFIX + ".leases")
+                .tag("outcome", "granted")
+                .description("Token leases taken from the shared rate limit table")
+                .register(meterRegistry);
+        this.leasesExhaustedCounter = Counter.builder(METRIC_PREFIX + ".leases")
+                .tag("outcome", "exhausted")
+                .description("Token lease attempts that found the shared bucket empty")
+                .register(meterRegistry);
+        this.errorCounter = Counter.builder(METRIC_PREFIX + ".leases")
+                .tag("outcome", "error")
+                .description("Token lease attempts that failed and were let through")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".keys", leases, ConcurrentHashMap::size)
+                .description("Rate limit leases currently held by this node")
+                .register(meterRegistry);
+
+        log.info("Distributed rate limiter initialized (lease batch: {}, lease ttl: {})",
+                properties.getDistributed().getLeaseBatchSize(), properties.getDistributed().getLeaseTtl());
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimitProperties.Policy policy) {
+        Lease lease = leases.get(key);
+        if (lease == null) {
+            if (leases.size() >= properties.getMaxKeys()) {
+                // Too many distinct keys to cache: lease exactly one token so nothing is stranded
+                return lease(key, policy, 1).decision();
+            }
+            lease = leases.computeIfAbsent(key, k -> new Lease());
+        }
+
+        // Per-key lock: concurrent requests for one key share a single lease query.
+        // A ReentrantLock rather than synchronized, so a virtual thread waiting on the query does not pin its carrier.
+        lease.lock.lock();
+        try {
+            long now = System.nanoTime();
+
+            if (lease.tokens > 0 && now < lease.expiresAtNanos) {
+                lease.tokens--;
+                return RateLimitDecision.allowed();
+            }
+            if (now < lease.blockedUntilNanos) {
+                return RateLimitDecision.rejected(toRetrySeconds(lease.blockedUntilNanos - now));
+            }
+
+            LeaseResult result = lease(key, policy, batchSize(policy));
+            if (result.granted() > 0) {
+                lease.tokens = result.granted() - 1;
+                lease.expiresAtNanos = now + properties.getDistributed().getLeaseTtl().toNanos();
+                lease.blockedUntilNanos = 0;
+            } else if (!result.failed()) {
+                lease.tokens = 0;
+                lease.blockedUntilNanos = now + result.retryAfterNanos();
+            }
+            return result.decision();
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    /**
+     * Drop local leases that expired or whose block has passed, and shared rows that have refilled
+     * A full bucket is indistinguishable from a missing one, so deleting it never loosens a limit.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        leases.values().removeIf(lease -> {
+            lease.lock.lock();
+            try {
+                return now >= lease.expiresAtNanos && now >= lease.blockedUntilNanos;
+            } finally {
+                lease.lock.unlock();
+            }
+        });
+
+        try {
+            int deleted = jdbcTemplate.getJdbcTemplate().update(DELETE_FULL_SQL);
+            if (deleted > 0) {
+                log.debug("Deleted {} refilled rate limit buckets", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to delete refilled rate limit buckets: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lease up to batch tokens from the shared bucket
+     */
+    private LeaseResult lease(String key, RateLimitProperties.Policy policy, int batch) {
+        double ratePerSecond = policy.refillRatePerNano() * 1_000_000_000d;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("capacity", (double) policy.getCapacity())
+                .addValue("rate", ratePerSecond)
+                .addValue("batch", (double) batch)
+                .addValue("initialGrant", (double) Math.min(batch, policy.getCapacity()));
+
+        try {
+            return jdbcTemplate.queryForObject(LEASE_SQL, params, (rs, rowNum) -> {
+                long granted = (long) rs.getDouble("granted");
+                if (granted > 0) {
+                    leasesGrantedCounter.increment();
+                    return new LeaseResult(granted, 0, false);
+                }
+                leasesExhaustedCounter.increment();
+                double secondsUntilToken = (1 - rs.getDouble("tokens")) / ratePerSecond;
+                return new LeaseResult(0, (long) Math.ceil(secondsUntilToken * 1_000_000_000d), false);
+            });
+        } catch (DataAccessException e) {
+            errorCounter.increment();
+            log.warn("Rate limit lease failed for policy {}, allowing request: {}", policy.getName(), e.getMessage());
+            return new LeaseResult(1, 0, true);
+        }
+    }
+
+    /**
+     * Tokens leased per query: small relative to capacity so one node cannot starve the others
+     */
+    private int batchSize(RateLimitProperties.Policy policy) {
+        long tenth = Math.max(1, policy.getCapacity() / 10);
+        return (int) Math.min(properties.getDistributed().getLeaseBatchSize(), tenth);
+    }
+
+    private static long toRetrySeconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    /**
+     * Outcome of one lease query
+     *
+     * @param granted Tokens leased (one is spent by the current request)
+     * @param retryAfterNanos Time until the shared bucket has a token again, when none were granted
+     * @param failed Whether the database call failed and the request is being let through
+     */
+    private record LeaseResult(long granted, long retryAfterNanos, boolean failed) {
+
+        private RateLimitDecision decision() {
+            return granted > 0 ? RateLimitDecision.allowed() : RateLimitDecision.rejected(toRetrySeconds(retryAfterNanos));
+        }
+    }
+
+    /**
+     * Tokens this node holds for a key, guarded by the lease's own lock
+     */
+    private static final class Lease {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long tokens;
+        private long expiresAtNanos;
+        private long blockedUntilNanos;
+    }
+}
@@ -0,0 +1,27 @@
+package com.zentro.common.ratelimit;
+
+import lombok.Value;
+
+/**
+ * Outcome of a rate limit check
+ */
+@Value
+public class RateLimitDecision {
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    boolean allowed;
+
+    /**
+     * Seconds until a token is available (0 when allowed)
+     */
+    long retryAfterSeconds;
+
+    public static RateLimitDecision allowed() {
+        return ALLOWED;
+    }
+
+    public static RateLimitDecision rejected(long retryAfterSeconds) {
+        return new RateLimitDecision(false, Math.max(1, retryAfterSeconds));
+    }
+}
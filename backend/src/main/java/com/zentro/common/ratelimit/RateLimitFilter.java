@@ -0,0 +1,180 @@
+package com.zentro.common.ratelimit;
+
+import com.zentro.common.dto.ErrorResponse;
+import com.zentro.common.util.Constants;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate limiting filter
+ * Runs ahead of JWT authentication so rejected requests never reach the database or password hashing
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        List<RateLimitProperties.Policy> matching = matchingPolicies(request);
+        if (matching.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest effectiveRequest = request;
+        String email = null;
+        if (matching.stream().anyMatch(policy -> policy.getKey() == RateLimitProperties.KeyType.EMAIL)
+                && isJson(request)) {
+            CachedBodyHttpServletRequest cached = CachedBodyHttpServletRequest.read(request, properties.getMaxBodyBytes());
+            if (cached == null) {
+                // Skipping the email check would let padded bodies past the per-email limits
+                reject(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "PAYLOAD_TOO_LARGE",
+                        Constants.ERROR_REQUEST_BODY_TOO_LARGE);
+                return;
+            }
+            effectiveRequest = cached;
+            email = extractEmail(cached.getBody());
+        }
+
+        for (RateLimitProperties.Policy policy : matching) {
+            String identifier = identifier(policy, request, email);
+            if (identifier == null) {
+                continue;
+            }
+
+            RateLimitDecision decision = rateLimiter.tryAcquire(policy.getName() + ":" + identifier, policy);
+            counter(policy.getName(), decision.isAllowed()).increment();
+
+            if (!decision.isAllowed()) {
+                log.warn("Rate limit '{}' exceeded for {} on path: {}",
+                        policy.getName(), identifier, request.getRequestURI());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+                reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMIT_EXCEEDED", Constants.ERROR_RATE_LIMIT);
+                return;
+            }
+        }
+
+        filterChain.doFilter(effectiveRequest, response);
+    }
+
+    /**
+     * Find all policies whose method and path patterns match the request
+     */
+    private List<RateLimitProperties.Policy> matchingPolicies(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        List<RateLimitProperties.Policy> matching = new ArrayList<>();
+
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            boolean methodMatches = policy.getMethods().isEmpty()
+                    || policy.getMethods().stream().anyMatch(method -> method.equalsIgnoreCase(request.getMethod()));
+            if (methodMatches && policy.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+                matching.add(policy);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Resolve the bucket identifier for a policy, or null if it does not apply to this request
+     */
+    private String identifier(RateLimitProperties.Policy policy, HttpServletRequest request, String email) {
+        return switch (policy.getKey()) {
+            case IP -> request.getRemoteAddr();
+            case EMAIL -> email;
+            case ROUTE -> "route";
+        };
+    }
+
+    /**
+     * Only JSON bodies carry the email; controllers reject anything else before reading it
+     */
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email != null && email.isTextual() && !email.asText().isBlank()) {
+                return email.asText().trim().toLowerCase(Locale.ROOT);
+            }
+        } catch (IOException e) {
+            // Malformed body; the controller will reject it
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        String error, String message) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .success(false)
+                .message(message)
+                .error(error)
+                .status(status.value())
+                .path(request.getRequestURI())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        objectMapper.writeValue(response.getWriter(), errorResponse);
+    }
+
+    private Counter counter(String policy, boolean allowed) {
+        String outcome = allowed ? "allowed" : "rejected";
+        return counters.computeIfAbsent(policy + ":" + outcome, k -> Counter.builder("zentro.ratelimit.requests")
+                .description("Requests checked against rate limit policies")
+                .tag("policy", policy)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,114 @@
+package com.zentro.common.ratelimit;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limiting configuration bound from app.rate-limit
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Where buckets live: memory (per node) or distributed (shared Postgres table)
+     */
+    private Mode mode = Mode.MEMORY;
+
+    /**
+     * Maximum number of tracked keys; least recently used keys are evicted beyond this
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Largest request body buffered to extract the email for EMAIL-keyed policies
+     */
+    private int maxBodyBytes = 16 * 1024;
+
+    private List<Policy> policies = new ArrayList<>();
+
+    private Distributed distributed = new Distributed();
+
+    /**
+     * Rate limiter backend
+     */
+    public enum Mode {
+        MEMORY,
+        DISTRIBUTED
+    }
+
+    /**
+     * What a policy's bucket is keyed by
+     */
+    public enum KeyType {
+        IP,
+        EMAIL,
+        ROUTE
+    }
+
+    /**
+     * Settings for the Postgres-backed limiter
+     */
+    @Data
+    public static class Distributed {
+
+        /**
+         * Most tokens a node leases per database write; capped at a tenth of the bucket capacity
+         */
+        private int leaseBatchSize = 10;
+
+        /**
+         * Unspent leased tokens are forfeited after this long so idle leases do not hoard a bucket
+         */
+        private Duration leaseTtl = Duration.ofSeconds(5);
+    }
+
+    /**
+     * A single limit applied to requests matching its paths and methods
+     */
+    @Data
+    public static class Policy {
+
+        private String name;
+
+        /**
+         * Ant-style path patterns, e.g. /api/v1/auth/**
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * HTTP methods to limit; empty means all methods
+         */
+        private List<String> methods = new ArrayList<>();
+
+        private KeyType key = KeyType.IP;
+
+        /**
+         * Bucket size (maximum burst)
+         */
+        private long capacity = 10;
+
+        /**
+         * Tokens added back every refill period
+         */
+        private long refillTokens = 10;
+
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        /**
+         * Refill rate in tokens per nanosecond
+         */
+        public double refillRatePerNano() {
+            return (double) refillTokens / refillPeriod.toNanos();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.zentro.common.ratelimit;
+
+/**
+ * Token-bucket rate limiter engine
+ */
+public interface RateLimiter {
+
+    /**
+     * Try to take one token from the bucket for the given key
+     *
+     * @param key Bucket key (policy name plus client identifier)
+     * @param policy Policy defining bucket capacity and refill rate
+     * @return Decision with retry hint when rejected
+     */
+    RateLimitDecision tryAcquire(String key, RateLimitProperties.Policy policy);
+}
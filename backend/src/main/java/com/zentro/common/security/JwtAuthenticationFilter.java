@@ -44,20 +44,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                String email = jwtTokenProvider.getEmailFromToken(jwt);
-                String role = jwtTokenProvider.getRoleFromToken(jwt);
-                
-                // Create UserPrincipal
-                UsernamePasswordAuthenticationToken authentication = getUsernamePasswordAuthenticationToken(userId, email, role);
-                
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
-                // Set authentication in security context
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                
-                log.debug("Set authentication for user: {} with role: {}", email, role);
+            if (StringUtils.hasText(jwt)) {
+                // Single verification pass; repeat tokens are served from the verified-token cache
+                jwtTokenProvider.verifyToken(jwt).ifPresent(token -> {
+                    UsernamePasswordAuthenticationToken authentication = getUsernamePasswordAuthenticationToken(
+                            token.getUserId(), token.getEmail(), token.getRole());
+
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    // Set authentication in security context
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    log.debug("Set authentication for user: {} with role: {}", token.getEmail(), token.getRole());
+                });
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -15,9 +15,11 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * JWT Token Provider for generating and validating JWT tokens
@@ -37,12 +39,31 @@ public class JwtTokenProvider {
 
     @Value("${app.jwt.temporary-token-expiration}")
     private long temporaryExpiration;
+
+    @Value("${app.jwt.verified-cache.enabled:true}")
+    private boolean verifiedCacheEnabled;
+
+    @Value("${app.jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
     
     private SecretKey key;
+
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private JwtParser parser;
+
+    private VerifiedTokenCache verifiedTokenCache;
     
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+
+        if (verifiedCacheEnabled) {
+            this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheMaxSize);
+            log.info("JWT verified-token cache enabled with max size: {}", verifiedCacheMaxSize);
+        }
     }
     
     /**
@@ -125,22 +146,53 @@ public class JwtTokenProvider {
                 .compact();
     }
     
+    /**
+     * Verify token signature and expiry once and return all claims needed for authentication
+     * Repeat calls with the same token are served from the verified-token cache
+     *
+     * @param token Raw JWT string
+     * @return Verified token, or empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
+        String digest = null;
+
+        if (verifiedTokenCache != null) {
+            digest = hashToken(token);
+            VerifiedToken cached = verifiedTokenCache.get(digest);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return Optional.empty();
+        }
+
+        VerifiedToken verified = new VerifiedToken(
+                extractUserId(claims),
+                claims.get(Constants.JWT_CLAIM_EMAIL, String.class),
+                claims.get(Constants.JWT_CLAIM_ROLE, String.class),
+                claims.get("type", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+
+        // Tokens without an expiry are never cached, since they could never be evicted as stale
+        if (verifiedTokenCache != null && verified.getExpiresAt() != null
+                && !verified.isExpiredAt(Instant.now())) {
+            verifiedTokenCache.put(digest, verified);
+        }
+
+        return Optional.of(verified);
+    }
+
     /**
      * Get user ID from JWT token
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = getClaims(token);
-        Object userIdObj = claims.get(Constants.JWT_CLAIM_USER_ID);
-        
-        if (userIdObj instanceof Integer) {
-            return ((Integer) userIdObj).longValue();
-        } else if (userIdObj instanceof Long) {
-            return (Long) userIdObj;
-        }
-        
-        throw new IllegalArgumentException("Invalid user ID in token");
+        return extractUserId(getClaims(token));
     }
-    
+
     /**
      * Get email from JWT token
      */
@@ -161,23 +213,39 @@ public class JwtTokenProvider {
      * Get claims from token
      */
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Extract user ID claim, which may be deserialized as Integer or Long
+     */
+    private Long extractUserId(Claims claims) {
+        Object userIdObj = claims.get(Constants.JWT_CLAIM_USER_ID);
+        
+        if (userIdObj instanceof Integer) {
+            return ((Integer) userIdObj).longValue();
+        } else if (userIdObj instanceof Long) {
+            return (Long) userIdObj;
+        }
+        
+        throw new IllegalArgumentException("Invalid user ID in token");
     }
     
     /**
      * Validate JWT token
      */
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /**
+     * Parse and verify token, logging the failure reason
+     *
+     * @return Claims, or null if the token is invalid
+     */
+    private Claims parseClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return getClaims(token);
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -189,7 +257,7 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
     
     /**
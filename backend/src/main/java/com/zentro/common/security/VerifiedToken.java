@@ -0,0 +1,26 @@
+package com.zentro.common.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a JWT whose signature has already been verified
+ * Holds every claim the authentication filter needs, so the token is parsed once
+ */
+@Value
+public class VerifiedToken {
+
+    Long userId;
+    String email;
+    String role;
+    String type;
+    Instant expiresAt;
+
+    /**
+     * Check if the token has expired at the given instant
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
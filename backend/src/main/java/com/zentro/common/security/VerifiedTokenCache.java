@@ -0,0 +1,63 @@
+package com.zentro.common.security;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, expiry-aware cache of verified tokens keyed by token digest
+ * Lets repeat requests with the same token skip signature verification
+ */
+class VerifiedTokenCache {
+
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get a cached token, dropping it if it has expired since it was cached
+     */
+    VerifiedToken get(String digest) {
+        VerifiedToken token = entries.get(digest);
+        if (token != null && token.isExpiredAt(Instant.now())) {
+            entries.remove(digest, token);
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * Cache a verified token, making room first if the cache is full
+     */
+    void put(String digest, VerifiedToken token) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(digest, token);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove expired entries, then drop an arbitrary tenth of the cache if still full
+     */
+    private void evict() {
+        Instant now = Instant.now();
+        entries.values().removeIf(token -> token.isExpiredAt(now));
+
+        if (entries.size() >= maxSize) {
+            int toRemove = Math.max(1, maxSize / 10);
+            Iterator<Map.Entry<String, VerifiedToken>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext() && toRemove-- > 0) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.zentro.common.service;
+
+import com.zentro.common.image.ImageObjectStore;
+import com.zentro.common.image.StoredImage;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attaches stored images to the rows that use them and detaches them again
+ * Counts change in the caller's transaction, so they always match the committed rows; unused
+ * images are deleted later by the image-collection job. Images stored before reference
+ * counting have no count and are deleted after commit, as before.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageReferences {
+
+    private final R2StorageService r2StorageService;
+    private final ImageObjectStore imageObjectStore;
+    private final R2DeletionQueue r2DeletionQueue;
+
+    /**
+     * Record that a row now points at an image
+     */
+    public void acquire(StoredImage image) {
+        if (image != null && image.getUrl() != null) {
+            imageObjectStore.acquire(r2StorageService.toImageObject(image));
+        }
+    }
+
+    /**
+     * Record that a row no longer points at an image
+     *
+     * @param fileUrl Full public URL of the original, may be null
+     * @param variants Variant URLs keyed by width, may be null
+     */
+    public void release(String fileUrl, Map<String, String> variants) {
+        releaseAll(List.of(new StoredImage(fileUrl, variants, null)));
+    }
+
+    /**
+     * Release several images at once, one reference per entry
+     */
+    public void releaseAll(Collection<StoredImage> images) {
+        List<StoredImage> released = images.stream()
+                .filter(image -> image.getUrl() != null && !image.getUrl().isBlank())
+                .toList();
+        if (released.isEmpty()) {
+            return;
+        }
+
+        Set<String> untracked = imageObjectStore.release(released.stream()
+                .map(image -> r2StorageService.keyOf(image.getUrl()))
+                .toList());
+        released.stream()
+                .filter(image -> untracked.contains(r2StorageService.keyOf(image.getUrl())))
+                .forEach(image -> r2DeletionQueue.deleteImageAfterCommit(image.getUrl(), image.getVariants()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.zentro.common.service;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Deferred object deletion settings, bound from app.storage.cloudflare.r2.deletion
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.storage.cloudflare.r2.deletion")
+public class R2DeletionProperties {
+
+    /**
+     * Files held in memory before new deletions are dropped, leaving the files in the bucket
+     */
+    private int queueCapacity = 100_000;
+
+    /**
+     * Most files per DeleteObjects request (R2 allows 1000)
+     */
+    private int batchSize = R2StorageService.MAX_DELETE_KEYS;
+
+    /**
+     * How long to wait for more files before sending a partial batch
+     */
+    private Duration linger = Duration.ofMillis(500);
+
+    /**
+     * How long a caller waits for queue space before the file is dropped
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    private int maxRetries = 5;
+
+    private Duration initialBackoff = Duration.ofMillis(500);
+
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Time allowed to flush the queue on shutdown
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
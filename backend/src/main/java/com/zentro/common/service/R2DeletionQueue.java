@@ -0,0 +1,253 @@
+package com.zentro.common.service;
+
+import com.zentro.common.image.StoredImage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes files from R2 in the background, in batches through S3 DeleteObjects
+ * Inside a transaction files are only queued once it commits, so a rolled back change never
+ * loses the file its row still points at. A single worker thread coalesces queued files into
+ * batches of up to 1000 keys and retries failed keys with exponential backoff, keeping storage
+ * calls out of request latency and off pooled database connections.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class R2DeletionQueue {
+
+    private static final String METRIC_PREFIX = "zentro.storage.deletion";
+
+    private final R2StorageService r2StorageService;
+    private final R2DeletionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<String> queue;
+    private Thread workerThread;
+    private volatile boolean running;
+
+    private Counter deletedCounter;
+    private Counter failedCounter;
+    private Counter droppedCounter;
+    private Counter retryCounter;
+    private Timer requestTimer;
+    private DistributionSummary batchSizeSummary;
+
+    @PostConstruct
+    public void init() {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        this.deletedCounter = fileCounter("deleted", "Files deleted from storage");
+        this.failedCounter = fileCounter("failed", "Files that could not be deleted after all retries");
+        this.droppedCounter = fileCounter("dropped", "Files not queued because the queue was full");
+        this.retryCounter = Counter.builder(METRIC_PREFIX + ".retries")
+                .description("Delete requests retried after a failure")
+                .register(meterRegistry);
+        this.requestTimer = Timer.builder(METRIC_PREFIX + ".request.duration")
+                .description("Time per batch including retries")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+                .description("Files per batch")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", queue, BlockingQueue::size)
+                .description("Files waiting to be deleted")
+                .register(meterRegistry);
+
+        this.running = true;
+        this.workerThread = new Thread(this::deleteLoop, "r2-deleter");
+        workerThread.setDaemon(true);
+        workerThread.start();
+
+        log.info("R2 deletion queue started (queue: {}, batch: {})",
+                properties.getQueueCapacity(), batchSize());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workerThread.interrupt();
+        workerThread.join(properties.getShutdownTimeout().toMillis());
+
+        // One attempt per batch for what is left; anything that fails stays in the bucket
+        List<String> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize()) {
+            List<String> batch = remaining.subList(i, Math.min(i + batchSize(), remaining.size()));
+            try {
+                List<String> failed = r2StorageService.deleteBatch(batch);
+                deletedCounter.increment(batch.size() - failed.size());
+                failedCounter.increment(failed.size());
+            } catch (RuntimeException e) {
+                failedCounter.increment(batch.size());
+                log.error("Failed to delete {} files from R2 on shutdown", batch.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Delete files once the current transaction commits, or right away outside a transaction
+     *
+     * @param fileUrls Full public URLs; nulls and blanks are ignored
+     */
+    public void deleteAfterCommit(Collection<String> fileUrls) {
+        List<String> urls = fileUrls.stream()
+                .filter(url -> url != null && !url.isBlank())
+                .toList();
+        if (urls.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(urls);
+                }
+            });
+        } else {
+            offer(urls);
+        }
+    }
+
+    /**
+     * Delete an image and its variants once the current transaction commits
+     *
+     * @param fileUrl Full public URL of the original, may be null
+     * @param variants Variant URLs keyed by width, may be null
+     */
+    public void deleteImageAfterCommit(String fileUrl, Map<String, String> variants) {
+        deleteAfterCommit(StoredImage.urls(fileUrl, variants));
+    }
+
+    private void offer(List<String> urls) {
+        for (String url : urls) {
+            boolean queued;
+            try {
+                queued = queue.offer(url, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+
+            if (!queued) {
+                droppedCounter.increment();
+                log.error("R2 deletion queue full, leaving {} in the bucket", url);
+            }
+        }
+    }
+
+    /**
+     * Take files off the queue and delete them in batches
+     * Waits up to the linger time for a batch to fill before sending what it has.
+     */
+    private void deleteLoop() {
+        while (running) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<String> batch = new ArrayList<>(batchSize());
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.getLinger().toNanos();
+                while (batch.size() < batchSize()) {
+                    String next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                delete(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in R2 deletion queue", e);
+            }
+        }
+    }
+
+    /**
+     * Delete one batch, retrying the keys that failed with exponential backoff
+     * If interrupted while backing off, the pending keys go back on the queue for the shutdown flush.
+     */
+    private void delete(List<String> batch) throws InterruptedException {
+        long start = System.nanoTime();
+        batchSizeSummary.record(batch.size());
+
+        List<String> pending = batch;
+        Duration backoff = properties.getInitialBackoff();
+        RuntimeException lastError = null;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                pending = r2StorageService.deleteBatch(pending);
+                lastError = null;
+            } catch (RuntimeException e) {
+                lastError = e;
+            }
+            if (pending.isEmpty() || attempt >= properties.getMaxRetries()) {
+                break;
+            }
+
+            retryCounter.increment();
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException e) {
+                deletedCounter.increment(batch.size() - pending.size());
+                queue.addAll(pending.subList(0, Math.min(pending.size(), queue.remainingCapacity())));
+                throw e;
+            }
+            backoff = backoff.multipliedBy(2);
+            if (backoff.compareTo(properties.getMaxBackoff()) > 0) {
+                backoff = properties.getMaxBackoff();
+            }
+        }
+
+        requestTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        deletedCounter.increment(batch.size() - pending.size());
+        if (!pending.isEmpty()) {
+            failedCounter.increment(pending.size());
+            Throwable cause = lastError != null && lastError.getCause() != null ? lastError.getCause() : lastError;
+            log.error("Failed to delete {} files from R2 after {} retries", pending.size(),
+                    properties.getMaxRetries(), cause);
+        } else {
+            log.debug("Deleted batch of {} files from R2", batch.size());
+        }
+    }
+
+    private int batchSize() {
+        return Math.min(properties.getBatchSize(), R2StorageService.MAX_DELETE_KEYS);
+    }
+
+    private Counter fileCounter(String outcome, String description) {
+        return Counter.builder(METRIC_PREFIX + ".files")
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
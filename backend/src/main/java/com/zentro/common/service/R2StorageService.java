@@ -1,7 +1,16 @@
 package com.zentro.common.service;
 
+import com.zentro.common.dto.ImageUploadResponse;
 import com.zentro.common.exception.BadRequestException;
-
+import com.zentro.common.image.ImageDerivatives;
+import com.zentro.common.image.ImageObject;
+import com.zentro.common.image.ImageObjectStore;
+import com.zentro.common.image.ImageProcessor;
+import com.zentro.common.image.StoredImage;
+import com.zentro.common.util.ImageType;
+import com.zentro.common.util.ThreadFactories;
+
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import jakarta.annotation.PreDestroy;
@@ -9,6 +18,7 @@ import jakarta.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
@@ -16,15 +26,37 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 
 /**
  * Service for managing file storage in Cloudflare R2
@@ -32,8 +64,12 @@ import java.util.UUID;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class R2StorageService {
 
+    private final ImageProcessor imageProcessor;
+    private final ImageObjectStore imageObjectStore;
+
     @Value("${app.storage.cloudflare.r2.access-key-id}")
     private String accessKeyId;
 
@@ -49,11 +85,41 @@ public class R2StorageService {
     @Value("${app.storage.cloudflare.r2.endpoint}")
     private String endpoint;
 
+    @Value("${app.storage.cloudflare.r2.multipart.threshold:8MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${app.storage.cloudflare.r2.multipart.part-size:8MB}")
+    private DataSize multipartPartSize;
+
+    @Value("${app.storage.cloudflare.r2.multipart.buffer-size:16MB}")
+    private DataSize multipartBufferSize;
+
+    @Value("${app.storage.cloudflare.r2.presign.expiry:5m}")
+    private Duration presignExpiry;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     // Singleton S3AsyncClient - uses native CRT for SSL
     private S3AsyncClient s3Client;
 
+    // Same connection pool with multipart upload enabled; only used for PutObject, since the
+    // multipart wrapper rejects GetObject
+    private S3AsyncClient uploadClient;
+
+    private SdkAsyncHttpClient httpClient;
+
+    // Signs direct-to-bucket upload URLs; signing is local, no requests are made
+    private S3Presigner presigner;
+
+    // Threads that block reading multipart streams while the SDK sends them
+    private ExecutorService uploadExecutor;
+
     public static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
     public static final List<String> ALLOWED_IMAGE_TYPES = Arrays.asList("image/jpeg", "image/png", "image/jpg", "image/gif");
+    public static final int MAX_DELETE_KEYS = 1000; // DeleteObjects limit
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final Pattern UPLOAD_FILE_NAME = Pattern.compile("[0-9a-f-]{36}\\.(jpg|png|gif)");
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png", "gif");
 
     @PostConstruct
@@ -62,66 +128,223 @@ public class R2StorageService {
         AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
 
         // Use AwsCrtAsyncHttpClient - native C-based SSL stack (bypasses Java SSL bugs)
+        this.httpClient = AwsCrtAsyncHttpClient.builder()
+                .maxConcurrency(50)
+                .build();
         this.s3Client = S3AsyncClient.builder()
                 .endpointOverride(URI.create(endpoint))
                 .credentialsProvider(StaticCredentialsProvider.create(credentials))
                 .region(Region.US_EAST_1) // R2 doesn't use regions, but SDK requires it
                 .forcePathStyle(true)
-                .httpClientBuilder(AwsCrtAsyncHttpClient.builder()
-                        .maxConcurrency(50))
+                .httpClient(httpClient)
+                .build();
+        this.uploadClient = S3AsyncClient.builder()
+                .endpointOverride(URI.create(endpoint))
+                .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .httpClient(httpClient)
+                // Bodies above the threshold go up as S3 multipart uploads; the buffer caps the
+                // bytes of one upload held in memory while parts are in flight
+                .multipartEnabled(true)
+                .multipartConfiguration(config -> config
+                        .thresholdInBytes(multipartThreshold.toBytes())
+                        .minimumPartSizeInBytes(multipartPartSize.toBytes())
+                        .apiCallBufferSizeInBytes(multipartBufferSize.toBytes()))
                 .build();
+        this.presigner = S3Presigner.builder()
+                .endpointOverride(URI.create(endpoint))
+                .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                .region(Region.US_EAST_1)
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        this.uploadExecutor = Executors.newCachedThreadPool(ThreadFactories.blocking("r2-upload", virtualThreads));
 
         log.info("R2 Storage Service initialized successfully with bucket: {}", bucketName);
     }
 
     @PreDestroy
     public void cleanup() {
+        if (this.uploadExecutor != null) {
+            this.uploadExecutor.shutdownNow();
+        }
+        if (this.presigner != null) {
+            this.presigner.close();
+        }
+        if (this.uploadClient != null) {
+            this.uploadClient.close();
+        }
         if (this.s3Client != null) {
             this.s3Client.close();
+            this.httpClient.close();
             log.info("R2 S3Client closed successfully");
         }
     }
 
     /**
-     * Upload a file to R2 storage
+     * Upload an image together with its resized variants and placeholder
+     * The key is the SHA-256 of the content, computed in one streaming pass over the upload, so
+     * an image that is already stored is reused without rendering or uploading anything. A new
+     * image streams to R2 while the variants are rendered, and each variant is uploaded as soon
+     * as it is encoded. The result has no references until the caller acquires it through
+     * ImageReferences, in a transaction opened after the upload returns.
      *
      * @param file MultipartFile to upload
-     * @param folder Folder path in the bucket (e.g., "profile-pictures")
-     * @return Public URL of the uploaded file
+     * @param folder Folder path in the bucket (e.g., "brands")
+     * @return URLs of the original and its variants, and the placeholder
      */
-    public String uploadFile(MultipartFile file, String folder) {
+    public StoredImage uploadImage(MultipartFile file, String folder) {
         validateImageFile(file);
 
         try {
-            String fileName = generateUniqueFileName(Objects.requireNonNull(file.getOriginalFilename()));
-            String key = folder + "/" + fileName;
-
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(file.getContentType())
-                    .contentLength(file.getSize())
-                    .build();
-
-            // Use AsyncClient with .join() to make it synchronous
-            // This uses native C-based SSL (CRT) which bypasses Java SSL bugs
-            s3Client.putObject(putObjectRequest, AsyncRequestBody.fromBytes(file.getBytes()))
-                    .join();
-
-            String fileUrl = publicUrl + "/" + key;
-            log.info("File uploaded successfully to R2: {}", fileUrl);
-            return fileUrl;
-
+            ImageType imageType;
+            String hash;
+            try (InputStream inputStream = new BufferedInputStream(file.getInputStream())) {
+                imageType = detectImageType(inputStream);
+                hash = contentHash(inputStream);
+            }
+            String stem = folder + "/" + hash;
+            String key = stem + "." + imageType.getExtension();
+
+            Optional<ImageObject> existing = imageObjectStore.claim(key);
+            if (existing.isPresent()) {
+                log.info("Image already stored in R2, reusing: {}", key);
+                return toStoredImage(existing.get());
+            }
+
+            List<String> keys = new ArrayList<>(List.of(key));
+            List<CompletableFuture<PutObjectResponse>> uploads = new ArrayList<>();
+            try (InputStream inputStream = file.getInputStream()) {
+                uploads.add(uploadClient.putObject(putObjectRequest(key, imageType.getContentType(), file.getSize()),
+                        AsyncRequestBody.fromInputStream(inputStream, file.getSize(), uploadExecutor)));
+
+                try {
+                    ImageDerivatives derivatives = imageProcessor.render(file);
+
+                    Map<String, String> variantKeys = new LinkedHashMap<>();
+                    for (ImageDerivatives.Variant variant : derivatives.getVariants()) {
+                        String variantKey = stem + "_w" + variant.getWidth() + "." + variant.getExtension();
+                        keys.add(variantKey);
+                        variantKeys.put(String.valueOf(variant.getWidth()), variantKey);
+                        uploads.add(uploadClient.putObject(
+                                putObjectRequest(variantKey, variant.getContentType(), variant.getBytes().length),
+                                AsyncRequestBody.fromBytes(variant.getBytes())));
+                    }
+                    CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+
+                    ImageObject image = new ImageObject(key, variantKeys, derivatives.getPlaceholder());
+                    imageObjectStore.register(image);
+                    log.info("Image uploaded successfully to R2: {} ({} variants)", key, variantKeys.size());
+                    return toStoredImage(image);
+
+                } catch (RuntimeException e) {
+                    // Let in-flight uploads settle (the original still reads the stream) before cleaning up,
+                    // unless an identical upload has registered the same keys meanwhile
+                    uploads.forEach(upload -> upload.handle((response, error) -> null).join());
+                    if (imageObjectStore.claim(key).isEmpty()) {
+                        deleteFiles(keys.stream().map(this::fileUrl).toList());
+                    }
+                    throw e;
+                }
+            }
+
+        } catch (BadRequestException e) {
+            throw e;
         } catch (IOException e) {
-            log.error("Failed to read file bytes", e);
+            log.error("Failed to read uploaded file", e);
             throw new BadRequestException("Failed to upload file: " + e.getMessage());
         } catch (Exception e) {
             Throwable cause = e.getCause() != null ? e.getCause() : e;
-            log.error("R2 CRT error during file upload", cause);
+            log.error("R2 CRT error during image upload", cause);
             throw new BadRequestException("File upload failed: " + cause.getMessage());
         }
     }
 
+    /**
+     * Issue a short-lived presigned PUT URL for uploading an image straight to the bucket
+     * Content-Type, Content-Length and Cache-Control are signed into the URL, so R2 rejects a
+     * body of any other type or size. The key is random and lives under the given prefix.
+     *
+     * @param prefix Key prefix the upload is scoped to (e.g., "brands/BRD-...")
+     * @param contentType Declared MIME type of the image
+     * @param contentLength Exact size of the file in bytes
+     * @return URL, method and headers the client must use, and the key to confirm afterwards
+     */
+    public ImageUploadResponse presignImageUpload(String prefix, String contentType, long contentLength) {
+        ImageType imageType = ImageType.fromContentType(contentType)
+                .orElseThrow(() -> new BadRequestException("Only image files (JPEG, PNG, GIF) are allowed"));
+        if (contentLength > MAX_FILE_SIZE) {
+            throw new BadRequestException("File size must not exceed 5MB");
+        }
+
+        String key = prefix + "/" + UUID.randomUUID() + "." + imageType.getExtension();
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(request -> request
+                .signatureDuration(presignExpiry)
+                .putObjectRequest(putObjectRequest(key, imageType.getContentType(), contentLength)));
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+
+        return ImageUploadResponse.builder()
+                .key(key)
+                .uploadUrl(presigned.url().toString())
+                .method(presigned.httpRequest().method().name())
+                .headers(headers)
+                .expiresAt(presigned.expiration())
+                .build();
+    }
+
+    /**
+     * Verify that a presigned upload arrived and is an image, without downloading it
+     * A HEAD checks existence, size and type, and a ranged GET of the first bytes checks the
+     * signature. Objects that fail are deleted. Presigned uploads get no variants, since
+     * rendering them would pull the bytes back through the app. Like uploadImage, call it
+     * before opening the transaction that attaches the image.
+     *
+     * @param prefix Key prefix the upload URL was issued for
+     * @param key Key returned with the upload URL
+     * @return The stored original, ready to attach
+     */
+    public StoredImage confirmImageUpload(String prefix, String key) {
+        if (!key.startsWith(prefix + "/") || !UPLOAD_FILE_NAME.matcher(key.substring(prefix.length() + 1)).matches()) {
+            throw new BadRequestException("Invalid upload key");
+        }
+        String fileUrl = publicUrl + "/" + key;
+
+        try {
+            HeadObjectResponse head = s3Client.headObject(request -> request.bucket(bucketName).key(key)).join();
+            byte[] header = s3Client.getObject(request -> request
+                            .bucket(bucketName)
+                            .key(key)
+                            .range("bytes=0-" + (ImageType.SIGNATURE_LENGTH - 1)),
+                    AsyncResponseTransformer.toBytes()).join().asByteArray();
+
+            Optional<ImageType> imageType = ImageType.detect(header);
+            if (head.contentLength() > MAX_FILE_SIZE || imageType.isEmpty()
+                    || !imageType.get().getContentType().equals(head.contentType())) {
+                deleteFile(fileUrl);
+                throw new BadRequestException("Uploaded file is not a valid JPEG, PNG or GIF image");
+            }
+
+            ImageObject image = new ImageObject(key, null, null);
+            imageObjectStore.register(image);
+            log.info("Presigned upload confirmed in R2: {}", fileUrl);
+            return toStoredImage(image);
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof S3Exception s3Exception && s3Exception.statusCode() == 404) {
+                throw new BadRequestException("Upload not found; it may not have finished or has expired");
+            }
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("R2 CRT error while confirming upload {}", key, cause);
+            throw new BadRequestException("Upload confirmation failed: " + cause.getMessage());
+        }
+    }
+
     /**
      * Delete a file from R2 storage
      *
@@ -142,17 +365,123 @@ public class R2StorageService {
                     .key(key)
                     .build();
 
-            // Use AsyncClient with .join() to make it synchronous
+            // Use AsyncClient with .join() to make it synchronous; failures arrive wrapped in CompletionException
             s3Client.deleteObject(deleteObjectRequest).join();
             log.info("File deleted successfully from R2: {}", key);
 
-        } catch (S3Exception e) {
+        } catch (CompletionException | S3Exception e) {
             Throwable cause = e.getCause() != null ? e.getCause() : e;
             log.error("Failed to delete file from R2: {}", fileUrl, cause);
             // Don't throw exception on delete failure - log it and continue
         }
     }
 
+    /**
+     * Delete many files with S3 DeleteObjects, up to 1000 keys per request
+     * Failures are logged, not thrown, like deleteFile
+     *
+     * @param fileUrls Full public URLs of the files to delete
+     */
+    public void deleteFiles(List<String> fileUrls) {
+        List<String> urls = fileUrls.stream()
+                .filter(url -> url != null && !url.isEmpty())
+                .toList();
+
+        for (int i = 0; i < urls.size(); i += MAX_DELETE_KEYS) {
+            List<String> chunk = urls.subList(i, Math.min(i + MAX_DELETE_KEYS, urls.size()));
+            try {
+                List<String> failed = deleteBatch(chunk);
+                log.info("Deleted {} files from R2", chunk.size() - failed.size());
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("Failed to delete {} files from R2", chunk.size(), cause);
+            }
+        }
+    }
+
+    /**
+     * Delete one batch of files with a single DeleteObjects request
+     * Missing files count as deleted.
+     *
+     * @param fileUrls Full public URLs of the files to delete, at most MAX_DELETE_KEYS
+     * @return URLs of the files R2 reported it could not delete
+     * @throws CompletionException if the request itself fails
+     */
+    public List<String> deleteBatch(List<String> fileUrls) {
+        if (fileUrls.size() > MAX_DELETE_KEYS) {
+            throw new IllegalArgumentException("At most " + MAX_DELETE_KEYS + " files per delete request");
+        }
+
+        List<ObjectIdentifier> keys = fileUrls.stream()
+                .map(url -> ObjectIdentifier.builder().key(url.replace(publicUrl + "/", "")).build())
+                .toList();
+        DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder().objects(keys).quiet(true).build())
+                .build()).join();
+
+        return response.errors().stream()
+                .peek(error -> log.warn("Failed to delete file from R2: {} ({})", error.key(), error.message()))
+                .map(error -> publicUrl + "/" + error.key())
+                .toList();
+    }
+
+    /**
+     * List one page of files under a prefix, in key order
+     *
+     * @param prefix Key prefix (e.g., "brands/")
+     * @param startAfter Key to continue after, or null to start from the beginning
+     * @param maxKeys Most keys to return, at most 1000
+     */
+    public ListObjectsV2Response listFiles(String prefix, String startAfter, int maxKeys) {
+        return s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .startAfter(startAfter)
+                .maxKeys(maxKeys)
+                .build()).join();
+    }
+
+    /**
+     * Full public URL of a key
+     */
+    public String fileUrl(String key) {
+        return publicUrl + "/" + key;
+    }
+
+    /**
+     * Key of a file from its full public URL
+     */
+    public String keyOf(String fileUrl) {
+        return fileUrl.replace(publicUrl + "/", "");
+    }
+
+    /**
+     * An image's keys, as recorded in image_objects
+     */
+    public ImageObject toImageObject(StoredImage image) {
+        return new ImageObject(keyOf(image.getUrl()), mapValues(image.getVariants(), this::keyOf),
+                image.getPlaceholder());
+    }
+
+    /**
+     * An image's public URLs, as stored on brand, category and user rows
+     */
+    public StoredImage toStoredImage(ImageObject image) {
+        return new StoredImage(fileUrl(image.getKey()), mapValues(image.getVariants(), this::fileUrl),
+                image.getPlaceholder());
+    }
+
+    /**
+     * Delete an image and all of its variants
+     *
+     * @param fileUrl Full public URL of the original
+     * @param variants Variant URLs keyed by width, may be null
+     */
+    public void deleteImage(String fileUrl, Map<String, String> variants) {
+        deleteFiles(StoredImage.urls(fileUrl, variants));
+    }
+
     /**
      * Validate that the uploaded file is a valid image
      */
@@ -185,10 +514,51 @@ public class R2StorageService {
     }
 
     /**
-     * Generate a unique file name using UUID
+     * Keys are never written twice (content hashes or random names), so objects can be cached forever
      */
-    private String generateUniqueFileName(String originalFileName) {
-        String extension = originalFileName.substring(originalFileName.lastIndexOf("."));
-        return UUID.randomUUID() + extension;
+    private PutObjectRequest putObjectRequest(String key, String contentType, long contentLength) {
+        return PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .cacheControl(IMMUTABLE_CACHE_CONTROL)
+                .build();
+    }
+
+    /**
+     * Hex SHA-256 of the rest of the stream
+     */
+    private static String contentHash(InputStream inputStream) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (DigestInputStream digestStream = new DigestInputStream(inputStream, digest)) {
+                digestStream.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Map<String, String> mapValues(Map<String, String> map, UnaryOperator<String> mapper) {
+        if (map == null) {
+            return null;
+        }
+        Map<String, String> mapped = new LinkedHashMap<>();
+        map.forEach((name, value) -> mapped.put(name, mapper.apply(value)));
+        return mapped;
+    }
+
+    /**
+     * Identify the image from its signature, leaving the stream positioned at the first byte
+     */
+    private ImageType detectImageType(InputStream inputStream) throws IOException {
+        inputStream.mark(ImageType.SIGNATURE_LENGTH);
+        byte[] header = inputStream.readNBytes(ImageType.SIGNATURE_LENGTH);
+        inputStream.reset();
+
+        return ImageType.detect(header)
+                .orElseThrow(() -> new BadRequestException("File content is not a JPEG, PNG or GIF image"));
     }
 }
@@ -0,0 +1,426 @@
+package com.zentro.common.service.stub;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Local S3-compatible stand-in for R2, for running uploads and presigned URLs offline
+ * Path-style only: PUT/GET (with Range)/HEAD/DELETE objects, DeleteObjects, ListObjectsV2 and
+ * multipart uploads, with objects kept as files under the configured directory. Signatures
+ * are not checked, but the Content-Length of a PUT must match the body. Answers CORS
+ * preflights so browsers can PUT to presigned URLs. Point R2_ENDPOINT at it and R2_PUBLIC_URL
+ * at http://localhost:{port}/{bucket}.
+ * Runs inside the app when app.storage.cloudflare.r2.stub.enabled=true, or standalone via main.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.cloudflare.r2.stub.enabled", havingValue = "true")
+public class R2StubServer {
+
+    private static final Pattern DELETE_KEY = Pattern.compile("<Key>([^<]+)</Key>");
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    @Value("${app.storage.cloudflare.r2.stub.port:9000}")
+    private int port;
+
+    @Value("${app.storage.cloudflare.r2.stub.directory:${java.io.tmpdir}/zentro-r2-stub}")
+    private Path directory;
+
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, Path>> multipartUploads = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    private HttpServer server;
+
+    /**
+     * Run the stub on its own: java ... R2StubServer [port] [directory]
+     */
+    public static void main(String[] args) throws IOException {
+        R2StubServer stub = new R2StubServer();
+        stub.port = args.length > 0 ? Integer.parseInt(args[0]) : 9000;
+        stub.directory = Path.of(args.length > 1 ? args[1] : System.getProperty("java.io.tmpdir") + "/zentro-r2-stub");
+        stub.start();
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        directory = directory.toAbsolutePath().normalize();
+        Files.createDirectories(directory);
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        log.info("R2 stub listening on http://localhost:{} (objects in {})", port, directory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            log.info("R2 stub stopped after {} requests", requests.get());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            exchange.getResponseHeaders().set("Access-Control-Expose-Headers", "ETag");
+            try {
+                dispatch(exchange);
+            } catch (RuntimeException e) {
+                log.warn("R2 stub failed to handle {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+                error(exchange, 500, "InternalError");
+            }
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring(1);
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        int slash = path.indexOf('/');
+        String bucket = slash < 0 ? path : path.substring(0, slash);
+        String key = slash < 0 ? "" : path.substring(slash + 1);
+
+        switch (exchange.getRequestMethod()) {
+            case "OPTIONS" -> preflight(exchange);
+            case "PUT" -> {
+                if (query.containsKey("partNumber")) {
+                    putPart(exchange, query);
+                } else {
+                    putObject(exchange, bucket, key);
+                }
+            }
+            case "GET", "HEAD" -> {
+                if (key.isEmpty()) {
+                    listObjects(exchange, bucket, query);
+                } else {
+                    getObject(exchange, bucket, key);
+                }
+            }
+            case "DELETE" -> {
+                Files.deleteIfExists(object(bucket, key));
+                contentTypes.remove(bucket + "/" + key);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            case "POST" -> {
+                if (query.containsKey("delete")) {
+                    deleteObjects(exchange, bucket);
+                } else if (query.containsKey("uploads")) {
+                    String uploadId = UUID.randomUUID().toString();
+                    multipartUploads.put(uploadId, new ConcurrentHashMap<>());
+                    contentTypes.put(bucket + "/" + key, contentType(exchange.getRequestHeaders()));
+                    respond(exchange, 200, "<InitiateMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>"
+                            + key + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+                } else if (query.containsKey("uploadId")) {
+                    completeMultipart(exchange, bucket, key, query.get("uploadId"));
+                } else {
+                    error(exchange, 400, "InvalidRequest");
+                }
+            }
+            default -> error(exchange, 405, "MethodNotAllowed");
+        }
+    }
+
+    private void preflight(HttpExchange exchange) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Access-Control-Allow-Methods", "GET, HEAD, PUT, POST, DELETE");
+        String requested = exchange.getRequestHeaders().getFirst("Access-Control-Request-Headers");
+        headers.set("Access-Control-Allow-Headers", requested != null ? requested : "*");
+        headers.set("Access-Control-Max-Age", "3600");
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void putObject(HttpExchange exchange, String bucket, String key) throws IOException {
+        Path temp = receive(exchange);
+        if (temp == null) {
+            return;
+        }
+        Path target = object(bucket, key);
+        Files.createDirectories(target.getParent());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        contentTypes.put(bucket + "/" + key, contentType(exchange.getRequestHeaders()));
+
+        exchange.getResponseHeaders().set("ETag", etag(target));
+        exchange.sendResponseHeaders(200, -1);
+        log.debug("R2 stub stored {}/{} ({} bytes)", bucket, key, Files.size(target));
+    }
+
+    private void putPart(HttpExchange exchange, Map<String, String> query) throws IOException {
+        Map<Integer, Path> parts = multipartUploads.get(query.get("uploadId"));
+        if (parts == null) {
+            error(exchange, 404, "NoSuchUpload");
+            return;
+        }
+        Path temp = receive(exchange);
+        if (temp == null) {
+            return;
+        }
+        parts.put(Integer.parseInt(query.get("partNumber")), temp);
+        exchange.getResponseHeaders().set("ETag", etag(temp));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void completeMultipart(HttpExchange exchange, String bucket, String key, String uploadId) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        Map<Integer, Path> parts = multipartUploads.remove(uploadId);
+        if (parts == null) {
+            error(exchange, 404, "NoSuchUpload");
+            return;
+        }
+
+        Path target = object(bucket, key);
+        Files.createDirectories(target.getParent());
+        try (OutputStream out = Files.newOutputStream(target)) {
+            for (Path part : parts.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(Map.Entry::getValue)
+                    .toList()) {
+                Files.copy(part, out);
+                Files.delete(part);
+            }
+        }
+        respond(exchange, 200, "<CompleteMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+                + "</Key><ETag>" + etag(target) + "</ETag></CompleteMultipartUploadResult>");
+    }
+
+    private void getObject(HttpExchange exchange, String bucket, String key) throws IOException {
+        Path file = object(bucket, key);
+        if (!Files.isRegularFile(file)) {
+            error(exchange, 404, "NoSuchKey");
+            return;
+        }
+
+        long size = Files.size(file);
+        long start = 0;
+        long end = size - 1;
+        int status = 200;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        Matcher matcher = range != null ? RANGE.matcher(range) : null;
+        if (matcher != null && matcher.matches()) {
+            start = Long.parseLong(matcher.group(1));
+            end = matcher.group(2).isEmpty() ? size - 1 : Math.min(Long.parseLong(matcher.group(2)), size - 1);
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + size);
+        }
+        long length = Math.max(0, end - start + 1);
+
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", contentTypes.getOrDefault(bucket + "/" + key, "application/octet-stream"));
+        headers.set("ETag", etag(file));
+        headers.set("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(Files.getLastModifiedTime(file).toInstant().atZone(ZoneOffset.UTC)));
+        headers.set("Accept-Ranges", "bytes");
+
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            headers.set("Content-Length", String.valueOf(size));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+
+        exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+        try (RandomAccessFile in = new RandomAccessFile(file.toFile(), "r");
+             OutputStream out = exchange.getResponseBody()) {
+            in.seek(start);
+            byte[] buffer = new byte[8192];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private void listObjects(HttpExchange exchange, String bucket, Map<String, String> query) throws IOException {
+        String prefix = query.getOrDefault("prefix", "");
+        String startAfter = query.getOrDefault("start-after", "");
+        int maxKeys = Integer.parseInt(query.getOrDefault("max-keys", "1000"));
+        Path root = directory.resolve(bucket);
+
+        // Keys in UTF-8 binary order, like S3
+        List<String> keys = List.of();
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> walk = Files.walk(root)) {
+                keys = walk.filter(Files::isRegularFile)
+                        .map(file -> root.relativize(file).toString().replace('\\', '/'))
+                        .filter(key -> key.startsWith(prefix) && key.compareTo(startAfter) > 0)
+                        .sorted()
+                        .toList();
+            }
+        }
+
+        List<String> page = keys.subList(0, Math.min(maxKeys, keys.size()));
+        StringBuilder xml = new StringBuilder("<ListBucketResult><Name>").append(bucket)
+                .append("</Name><Prefix>").append(prefix)
+                .append("</Prefix><KeyCount>").append(page.size())
+                .append("</KeyCount><MaxKeys>").append(maxKeys)
+                .append("</MaxKeys><IsTruncated>").append(page.size() < keys.size())
+                .append("</IsTruncated>");
+        for (String key : page) {
+            Path file = root.resolve(key);
+            xml.append("<Contents><Key>").append(key)
+                    .append("</Key><LastModified>").append(Files.getLastModifiedTime(file).toInstant())
+                    .append("</LastModified><ETag>").append(etag(file))
+                    .append("</ETag><Size>").append(Files.size(file))
+                    .append("</Size><StorageClass>STANDARD</StorageClass></Contents>");
+        }
+        respond(exchange, 200, xml.append("</ListBucketResult>").toString());
+    }
+
+    private void deleteObjects(HttpExchange exchange, String bucket) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Matcher matcher = DELETE_KEY.matcher(body);
+        while (matcher.find()) {
+            Files.deleteIfExists(object(bucket, matcher.group(1)));
+            contentTypes.remove(bucket + "/" + matcher.group(1));
+        }
+        respond(exchange, 200, "<DeleteResult></DeleteResult>");
+    }
+
+    /**
+     * Read a request body into a temp file, decoding aws-chunked bodies from the SDK
+     * Returns null (after answering 400) if the body does not match Content-Length.
+     */
+    private Path receive(HttpExchange exchange) throws IOException {
+        Headers headers = exchange.getRequestHeaders();
+        String sha = headers.getFirst("x-amz-content-sha256");
+        boolean chunked = sha != null && sha.startsWith("STREAMING-");
+        String declared = headers.getFirst(chunked ? "x-amz-decoded-content-length" : "Content-Length");
+
+        Path temp = Files.createTempFile(directory, "upload-", ".part");
+        long written;
+        try (InputStream in = exchange.getRequestBody(); OutputStream out = Files.newOutputStream(temp)) {
+            written = chunked ? decodeChunks(in, out) : in.transferTo(out);
+        }
+
+        if (declared != null && Long.parseLong(declared) != written) {
+            Files.delete(temp);
+            error(exchange, 400, "IncompleteBody");
+            return null;
+        }
+        return temp;
+    }
+
+    /**
+     * aws-chunked: "size-hex;chunk-signature=...\r\n" + data + "\r\n", ending with a 0-size chunk and trailers
+     */
+    private static long decodeChunks(InputStream in, OutputStream out) throws IOException {
+        long total = 0;
+        while (true) {
+            String header = readLine(in);
+            if (header == null) {
+                return total;
+            }
+            int size = Integer.parseInt(header.split(";", 2)[0].trim(), 16);
+            if (size == 0) {
+                in.transferTo(OutputStream.nullOutputStream());
+                return total;
+            }
+            out.write(in.readNBytes(size));
+            total += size;
+            readLine(in);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int previous = -1;
+        int current;
+        while ((current = in.read()) >= 0) {
+            if (previous == '\r' && current == '\n') {
+                byte[] bytes = line.toByteArray();
+                return new String(bytes, 0, bytes.length - 1, StandardCharsets.US_ASCII);
+            }
+            line.write(current);
+            previous = current;
+        }
+        return line.size() > 0 ? line.toString(StandardCharsets.US_ASCII) : null;
+    }
+
+    private Path object(String bucket, String key) {
+        Path file = directory.resolve(bucket).resolve(key).normalize();
+        if (!file.startsWith(directory)) {
+            throw new IllegalArgumentException("Key escapes the stub directory: " + key);
+        }
+        return file;
+    }
+
+    private static String contentType(Headers headers) {
+        String contentType = headers.getFirst("Content-Type");
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+
+    private static String etag(Path file) throws IOException {
+        return "\"" + Long.toHexString(Files.size(file)) + "-"
+                + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            String[] parts = pair.split("=", 2);
+            params.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                    parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+        }
+        return params;
+    }
+
+    private static void error(HttpExchange exchange, int status, String code) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        respond(exchange, status, "<Error><Code>" + code + "</Code></Error>");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String xml) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
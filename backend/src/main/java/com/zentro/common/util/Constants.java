@@ -63,6 +63,9 @@ public final class Constants {
     public static final String ERROR_INVALID_TOKEN = "Invalid or expired token";
     public static final String ERROR_TOKEN_EXPIRED = "Token has expired";
     public static final String ERROR_UNAUTHORIZED = "Unauthorized access";
+    public static final String ERROR_RATE_LIMIT = "Too many requests. Please try again later";
+    public static final String ERROR_REQUEST_BODY_TOO_LARGE = "Request body is too large";
+    public static final String ERROR_SERVICE_BUSY = "Server is busy. Please try again shortly";
 
     // Success Messages
     public static final String SUCCESS_SIGNUP = "Account created successfully. Please verify your email";
@@ -80,12 +83,16 @@ public final class Constants {
     public static final String ERROR_EMAIL_ALREADY_VERIFIED = "Email is already verified";
     public static final String ERROR_INVALID_TEMPORARY_TOKEN = "Invalid or expired temporary token";
     public static final String ERROR_USERNAME_ALREADY_TAKEN = "Username already taken";
+    public static final String ERROR_USERNAME_REQUIRED = "Username is required";
     public static final String ERROR_NO_PROFILE_PICTURE = "No profile picture to delete";
     public static final String ERROR_ACCOUNT_ALREADY_DELETED = "Account is already deleted";
     public static final String ERROR_ACCOUNT_PERMANENTLY_DELETED = "Account was permanently deleted. Please create a new account.";
     public static final String ERROR_ACCOUNT_PENDING_DELETION = "This account is scheduled for deletion. Please log in to restore it instead of creating a new account.";
     public static final String ERROR_USERNAME_COOLDOWN = "You can change your username again in %d days";
 
+    // Anonymized accounts are renamed to this prefix plus their ID, so no one else may use it
+    public static final String ANONYMIZED_USERNAME_PREFIX = "deleted_";
+
     // Time Periods
     public static final int ACCOUNT_DELETION_GRACE_PERIOD_DAYS = 30;
     public static final int USERNAME_CHANGE_COOLDOWN_DAYS = 30;
@@ -95,6 +102,9 @@ public final class Constants {
     public static final int OTP_RATE_LIMIT_WINDOW_HOURS = 1;
     public static final int ACCOUNT_LOCK_YEARS = 100; // Used for soft-deleted accounts
 
+    // Presigned uploads
+    public static final String SUCCESS_UPLOAD_URL_CREATED = "Upload URL created. PUT the file to it, then confirm the upload";
+
     // Folders
     public static final String R2_FOLDER_PROFILE_PICTURES = "profile-pictures";
     public static final String R2_FOLDER_CATEGORIES = "categories";
@@ -117,6 +127,8 @@ public final class Constants {
     public static final String SUCCESS_CATEGORY_RETRIEVED = "Category retrieved successfully";
     public static final String SUCCESS_SUBCATEGORIES_RETRIEVED = "Subcategories retrieved successfully";
     public static final String SUCCESS_FEATURED_CATEGORIES_RETRIEVED = "Featured categories retrieved successfully";
+    public static final String SUCCESS_CATEGORY_BREADCRUMBS_RETRIEVED = "Category breadcrumbs retrieved successfully";
+    public static final String SUCCESS_CATEGORY_SUBTREE_RETRIEVED = "Category subtree retrieved successfully";
     public static final String SUCCESS_CATEGORY_CREATED = "Category created successfully";
     public static final String SUCCESS_CATEGORY_UPDATED = "Category updated successfully";
     public static final String SUCCESS_CATEGORY_DELETED = "Category deleted successfully";
@@ -125,6 +137,7 @@ public final class Constants {
     public static final String ERROR_CATEGORY_HAS_CHILDREN = "Cannot delete category that has subcategories";
     public static final String ERROR_CATEGORY_HAS_PRODUCTS = "Cannot delete category that has products";
     public static final String ERROR_CATEGORY_SELF_REFERENCE = "Category cannot be its own parent";
+    public static final String ERROR_CATEGORY_CYCLE = "Category cannot be moved under one of its own subcategories";
     public static final String ERROR_INVALID_PARENT_CATEGORY = "Parent category not found";
 
     // Brand Messages
@@ -134,7 +147,14 @@ public final class Constants {
     public static final String SUCCESS_BRANDS_RETRIEVED = "Brands retrieved successfully";
     public static final String SUCCESS_BRAND_RETRIEVED = "Brand retrieved successfully";
     public static final String SUCCESS_FEATURED_BRANDS_RETRIEVED = "Featured brands retrieved successfully";
+    public static final String SUCCESS_MAINTENANCE_JOBS_RETRIEVED = "Maintenance jobs retrieved successfully";
+    public static final String SUCCESS_MAINTENANCE_JOB_TRIGGERED = "Maintenance job started";
     public static final String ERROR_BRAND_NOT_FOUND = "Brand not found";
     public static final String ERROR_BRAND_NAME_EXISTS = "A brand with this name already exists";
     public static final String ERROR_BRAND_HAS_PRODUCTS = "Cannot delete brand that has products";
+    public static final String ERROR_MAINTENANCE_JOB_NOT_FOUND = "Maintenance job not found";
+    public static final String ERROR_MAINTENANCE_JOB_RUNNING = "Maintenance job is already running";
+
+    // Search Messages
+    public static final String SUCCESS_SUGGESTIONS_RETRIEVED = "Suggestions retrieved successfully";
 }
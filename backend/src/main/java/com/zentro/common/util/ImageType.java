@@ -0,0 +1,59 @@
+package com.zentro.common.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Image formats accepted for upload, recognised by their leading magic bytes
+ * The declared Content-Type and file name are client-supplied; the signature is what the
+ * bytes actually are.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImageType {
+
+    JPEG("image/jpeg", "jpg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG("image/png", "png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    GIF87A("image/gif", "gif", "GIF87a".getBytes(StandardCharsets.US_ASCII)),
+    GIF89A("image/gif", "gif", "GIF89a".getBytes(StandardCharsets.US_ASCII));
+
+    /**
+     * Bytes needed from the start of a file to recognise any of the formats
+     */
+    public static final int SIGNATURE_LENGTH = 8;
+
+    private final String contentType;
+    private final String extension;
+    private final byte[] signature;
+
+    /**
+     * Format for a declared MIME type, accepting the common image/jpg alias
+     */
+    public static Optional<ImageType> fromContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        String normalized = contentType.trim().toLowerCase(Locale.ROOT);
+        String canonical = normalized.equals("image/jpg") ? "image/jpeg" : normalized;
+        return Arrays.stream(values())
+                .filter(type -> type.contentType.equals(canonical))
+                .findFirst();
+    }
+
+    /**
+     * Format whose signature the header starts with, if any
+     *
+     * @param header Leading bytes of the file; may be shorter than SIGNATURE_LENGTH
+     */
+    public static Optional<ImageType> detect(byte[] header) {
+        return Arrays.stream(values())
+                .filter(type -> header.length >= type.signature.length
+                        && Arrays.equals(header, 0, type.signature.length, type.signature, 0, type.signature.length))
+                .findFirst();
+    }
+}
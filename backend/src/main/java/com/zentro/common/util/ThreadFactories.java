@@ -0,0 +1,24 @@
+package com.zentro.common.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factories for the app's own executors
+ */
+public final class ThreadFactories {
+
+    private ThreadFactories() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * Named threads (prefix-1, prefix-2, ...) for blocking work
+     * Virtual when the app runs in virtual-thread mode (spring.threads.virtual.enabled), daemon
+     * platform threads otherwise. CPU-bound pools should keep platform threads.
+     */
+    public static ThreadFactory blocking(String prefix, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix + "-", 1).factory()
+                : Thread.ofPlatform().name(prefix + "-", 1).daemon().factory();
+    }
+}
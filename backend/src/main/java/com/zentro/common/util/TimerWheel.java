@@ -0,0 +1,74 @@
+package com.zentro.common.util;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for cheap expiry of large numbers of short-lived keys
+ * Scheduling is O(1); each tick only visits the timeouts hashed into its bucket.
+ * Callers drive the wheel by calling {@link #tick()} every tick interval from a single thread.
+ * Timeouts may fire up to one tick late, so callers must still check expiry on read.
+ *
+ * @param <K> Type of key being expired
+ */
+public class TimerWheel<K> {
+
+    private final long tickMillis;
+    private final Queue<Timeout<K>>[] buckets;
+    private final Consumer<K> onExpire;
+    private final long startMillis;
+
+    // Written only by the ticking thread, read by schedulers
+    private volatile long currentTick;
+
+    /**
+     * @param tickMillis Duration of one tick in milliseconds
+     * @param wheelSize Number of buckets; timeouts further out than one rotation wait extra rounds
+     * @param onExpire Callback invoked on the ticking thread when a timeout fires
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int wheelSize, Consumer<K> onExpire) {
+        this.tickMillis = tickMillis;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.onExpire = onExpire;
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Schedule a key to expire at the given epoch millisecond
+     */
+    public void schedule(K key, long deadlineMillis) {
+        long deadlineTick = (deadlineMillis - startMillis + tickMillis - 1) / tickMillis;
+        deadlineTick = Math.max(deadlineTick, currentTick + 1);
+        buckets[(int) (deadlineTick % buckets.length)].add(new Timeout<>(key, deadlineTick));
+    }
+
+    /**
+     * Advance the wheel by one tick and fire every timeout that is due
+     */
+    public void tick() {
+        long tick = currentTick + 1;
+        currentTick = tick;
+
+        Iterator<Timeout<K>> iterator = buckets[(int) (tick % buckets.length)].iterator();
+        while (iterator.hasNext()) {
+            Timeout<K> timeout = iterator.next();
+            if (timeout.deadlineTick() <= tick) {
+                iterator.remove();
+                onExpire.accept(timeout.key());
+            }
+        }
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private record Timeout<K>(K key, long deadlineTick) {
+    }
+}
@@ -1,14 +1,17 @@
 package com.zentro.common.validator;
 
+import com.zentro.common.util.Constants;
+
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Validator for usernames
- * Checks for offensive, reserved, and system usernames
+ * Checks for offensive, reserved, and system usernames, and the prefix kept for anonymized accounts
  */
 public class UsernameValidator implements ConstraintValidator<ValidUsername, String> {
 
@@ -38,7 +41,7 @@ public class UsernameValidator implements ConstraintValidator<ValidUsername, Str
         String lowerUsername = username.toLowerCase();
 
         // Check for reserved usernames
-        if (RESERVED_USERNAMES.contains(lowerUsername)) {
+        if (RESERVED_USERNAMES.contains(lowerUsername) || hasReservedPrefix(username)) {
             context.disableDefaultConstraintViolation();
             context.buildConstraintViolationWithTemplate("This username is reserved and cannot be used")
                     .addConstraintViolation();
@@ -57,4 +60,11 @@ public class UsernameValidator implements ConstraintValidator<ValidUsername, Str
 
         return true;
     }
+
+    /**
+     * Check if a username starts with the prefix reserved for anonymized accounts
+     */
+    public static boolean hasReservedPrefix(String username) {
+        return username.toLowerCase(Locale.ROOT).startsWith(Constants.ANONYMIZED_USERNAME_PREFIX);
+    }
 }
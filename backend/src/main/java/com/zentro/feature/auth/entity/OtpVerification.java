@@ -14,14 +14,10 @@ import java.time.LocalDateTime;
 
 /**
  * OTP Verification entity for email verification and password reset
+ * The table is partitioned by day on expires_at and managed by Flyway (db/migration).
  */
 @Entity
-@Table(name = "otp_verifications", indexes = {
-        @Index(name = "idx_user_purpose", columnList = "user_id, purpose"),
-        @Index(name = "idx_email_purpose", columnList = "email, purpose"),
-        @Index(name = "idx_expires_at", columnList = "expires_at"),
-        @Index(name = "idx_email_last_sent", columnList = "email, last_otp_sent_at")
-})
+@Table(name = "otp_verifications")
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @Builder
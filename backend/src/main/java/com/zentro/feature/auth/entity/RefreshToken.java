@@ -14,13 +14,10 @@ import java.time.LocalDateTime;
 
 /**
  * Refresh Token entity for JWT refresh token management
+ * The table is partitioned by day on expires_at and managed by Flyway (db/migration).
  */
 @Entity
-@Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_user_id", columnList = "user_id"),
-        @Index(name = "idx_token_hash", columnList = "token_hash"),
-        @Index(name = "idx_expires_at", columnList = "expires_at")
-})
+@Table(name = "refresh_tokens")
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @Builder
@@ -35,7 +32,7 @@ public class RefreshToken {
     @Column(name = "user_id", nullable = false)
     private Long userId;
     
-    @Column(name = "token_hash", unique = true, nullable = false, length = 255)
+    @Column(name = "token_hash", nullable = false, length = 255)
     private String tokenHash;
     
     @Column(name = "expires_at", nullable = false)
@@ -7,7 +7,6 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -27,17 +26,13 @@ public interface OtpVerificationRepository extends JpaRepository<OtpVerification
     Optional<OtpVerification> findFirstByEmailAndPurposeOrderByCreatedAtDesc(String email, String purpose);
     
     /**
-     * Count OTP requests by email and purpose within time window (for rate limiting)
-     */
-    @Query("SELECT COUNT(o) FROM OtpVerification o WHERE o.email = :email AND o.purpose = :purpose AND o.createdAt > :since")
-    long countByEmailAndPurposeAndCreatedAtAfter(String email, String purpose, LocalDateTime since);
-    
-    /**
-     * Delete expired OTPs (cleanup job)
+     * Increment attempts only while below the max (atomic attempt check)
+     *
+     * @return 1 if the attempt was recorded, 0 if max attempts were already reached
      */
     @Modifying
-    @Query("DELETE FROM OtpVerification o WHERE o.expiresAt < :now")
-    void deleteExpiredOtps(LocalDateTime now);
+    @Query("UPDATE OtpVerification o SET o.attempts = o.attempts + 1 WHERE o.id = :id AND o.attempts < o.maxAttempts")
+    int incrementAttemptsIfBelowMax(Long id);
     
     /**
      * Delete OTPs by user ID and purpose
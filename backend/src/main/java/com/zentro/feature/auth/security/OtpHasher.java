@@ -0,0 +1,97 @@
+package com.zentro.feature.auth.security;
+
+import com.zentro.common.security.PasswordHashingService;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Keyed hasher for OTP codes
+ * OTPs are short-lived and attempt-limited, so a keyed HMAC is enough and avoids BCrypt's CPU cost
+ * Hashes are bound to email and purpose, so a stored hash cannot be replayed for another record
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OtpHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HASH_PREFIX = "hmac1$";
+    private static final byte[] KEY_DERIVATION_LABEL = "zentro-otp-hmac-v1".getBytes(StandardCharsets.UTF_8);
+
+    private final PasswordHashingService passwordHashingService;
+
+    @Value("${app.security.otp.hmac-secret:${app.jwt.secret}}")
+    private String hmacSecret;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    public void init() {
+        // Derive a dedicated key so the OTP key differs from the secret it may share with JWT signing
+        byte[] derived = hmac(new SecretKeySpec(hmacSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM),
+                KEY_DERIVATION_LABEL);
+        this.key = new SecretKeySpec(derived, ALGORITHM);
+    }
+
+    /**
+     * Hash an OTP for storage
+     */
+    public String hash(String otp, String email, String purpose) {
+        return HASH_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(digest(otp, email, purpose));
+    }
+
+    /**
+     * Check an OTP against a stored hash using constant-time comparison
+     * Hashes written before the HMAC format (BCrypt) are still verified until they expire
+     */
+    public boolean matches(String otp, String email, String purpose, String storedHash) {
+        if (otp == null || storedHash == null) {
+            return false;
+        }
+
+        if (!storedHash.startsWith(HASH_PREFIX)) {
+            log.debug("Verifying legacy BCrypt OTP hash for email: {}", email);
+            return passwordHashingService.matches(otp, storedHash);
+        }
+
+        byte[] expected;
+        try {
+            expected = Base64.getUrlDecoder().decode(storedHash.substring(HASH_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        return MessageDigest.isEqual(expected, digest(otp, email, purpose));
+    }
+
+    private byte[] digest(String otp, String email, String purpose) {
+        String message = purpose + ":" + email.toLowerCase(Locale.ROOT) + ":" + otp;
+        return hmac(key, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] hmac(SecretKeySpec key, byte[] message) {
+        try {
+            // Mac instances are not thread-safe; creating one is cheap compared to the old BCrypt path
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(message);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -25,10 +25,4 @@ public interface OtpService {
      * @return true if OTP is valid, false otherwise
      */
     boolean validateOtp(Long userId, String email, String otp, String purpose);
-
-    /**
-     * Cleanup expired OTPs (scheduled task)
-     */
-    @SuppressWarnings("unused")
-    void cleanupExpiredOtps();
 }
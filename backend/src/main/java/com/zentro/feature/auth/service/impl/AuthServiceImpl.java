@@ -5,9 +5,12 @@ import com.zentro.common.exception.DuplicateResourceException;
 import com.zentro.common.exception.ResourceNotFoundException;
 import com.zentro.common.exception.UnauthorizedException;
 import com.zentro.common.security.JwtTokenProvider;
+import com.zentro.common.security.PasswordHashingService;
 import com.zentro.common.util.Constants;
 import com.zentro.common.util.PublicIdGenerator;
+import com.zentro.common.validator.UsernameValidator;
 import com.zentro.feature.user.entity.User;
+import com.zentro.feature.user.index.UsernameIndex;
 import com.zentro.feature.user.repository.UserRepository;
 import com.zentro.feature.user.dto.response.UserResponse;
 import com.zentro.feature.auth.dto.request.*;
@@ -25,12 +28,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Implementation of authentication service
@@ -44,8 +49,9 @@ public class AuthServiceImpl implements AuthService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final OtpService otpService;
     private final EmailService emailService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UsernameIndex usernameIndex;
 
     @Value("${app.jwt.access-token-expiration}")
     private Long accessTokenExpiration;
@@ -160,10 +166,17 @@ public class AuthServiceImpl implements AuthService {
         }
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
             throw new UnauthorizedException(Constants.ERROR_INVALID_CREDENTIALS);
         }
 
+        // Rehash if the configured algorithm or cost has changed since this hash was created
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
+            user = userRepository.save(user);
+            log.info("Password hash upgraded for user ID: {}", user.getId());
+        }
+
         // Check if email is verified
         if (!user.getEmailVerified()) {
             throw new UnauthorizedException(Constants.ERROR_EMAIL_NOT_VERIFIED);
@@ -174,7 +187,8 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
+    // A wrong OTP must still commit the consumed attempt and the failed-attempt count
+    @Transactional(noRollbackFor = UnauthorizedException.class)
     public JwtResponse verifyEmail(VerifyOtpRequest request) {
         log.info("Email verification request received for email: {}", request.getEmail());
 
@@ -263,7 +277,8 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
+    // A wrong OTP must still commit the consumed attempt and the failed-attempt count
+    @Transactional(noRollbackFor = UnauthorizedException.class)
     public TemporaryTokenResponse verifyResetOtp(VerifyResetOtpRequest request) {
         log.info("Verify reset OTP request received for email: {}", request.getEmail());
 
@@ -330,7 +345,7 @@ public class AuthServiceImpl implements AuthService {
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_USER_NOT_FOUND));
 
         // Update password
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getNewPassword()));
         user.resetFailedOtpAttempts();
         userRepository.save(user);
 
@@ -433,16 +448,37 @@ public class AuthServiceImpl implements AuthService {
      */
     private String generateUsername(String email) {
         String baseUsername = email.substring(0, email.indexOf('@'));
-        String username = baseUsername;
-        int suffix = 1;
+        // Names like deleted_42 belong to anonymized accounts
+        if (UsernameValidator.hasReservedPrefix(baseUsername)) {
+            baseUsername = "user_" + baseUsername;
+        }
 
-        // If username exists, append number
-        while (userRepository.existsByUsername(username)) {
-            username = baseUsername + suffix;
-            suffix++;
+        // Fetch every taken "base" + suffix in one query instead of probing suffixes one by one
+        String pattern = baseUsername.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        List<String> taken = userRepository.findUsernamesLike(pattern);
+
+        Set<Integer> takenSuffixes = new HashSet<>();
+        for (String username : taken) {
+            String suffix = username.substring(baseUsername.length());
+            if (suffix.isEmpty()) {
+                takenSuffixes.add(0);
+            } else if (suffix.length() <= 9 && suffix.charAt(0) != '0'
+                    && suffix.chars().allMatch(Character::isDigit)) {
+                takenSuffixes.add(Integer.parseInt(suffix));
+            }
         }
 
-        return username;
+        // Same result as before: the base itself, else the lowest free numeric suffix
+        if (!takenSuffixes.contains(0)) {
+            return baseUsername;
+        }
+        int suffix = 1;
+        while (takenSuffixes.contains(suffix)) {
+            suffix++;
+        }
+        return baseUsername + suffix;
     }
 
     /**
@@ -460,14 +496,16 @@ public class AuthServiceImpl implements AuthService {
                 .lastName(request.getLastName())
                 .username(generateUsername(request.getEmail()))
                 .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHashingService.encode(request.getPassword()))
                 .emailVerified(false)
                 .role(role)
                 .failedOtpAttempts(0)
                 .isDeleted(false)
                 .build();
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        usernameIndex.add(savedUser.getUsername());
+        return savedUser;
     }
 
     /**
@@ -2,22 +2,26 @@ package com.zentro.feature.auth.service.impl;
 
 import com.zentro.common.exception.RateLimitExceededException;
 import com.zentro.common.exception.ValidationException;
+import com.zentro.common.ratelimit.RateLimitDecision;
+import com.zentro.common.ratelimit.RateLimitProperties;
+import com.zentro.common.ratelimit.RateLimiter;
 import com.zentro.common.util.Constants;
 import com.zentro.feature.auth.entity.OtpVerification;
-import com.zentro.feature.auth.repository.OtpVerificationRepository;
+import com.zentro.feature.auth.security.OtpHasher;
 import com.zentro.feature.auth.service.OtpService;
+import com.zentro.feature.auth.store.OtpStore;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -29,8 +33,9 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OtpServiceImpl implements OtpService {
 
-    private final OtpVerificationRepository otpRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final OtpStore otpStore;
+    private final OtpHasher otpHasher;
+    private final RateLimiter rateLimiter;
 
     @Value("${app.security.otp.length:6}")
     private int otpLength;
@@ -49,6 +54,18 @@ public class OtpServiceImpl implements OtpService {
 
     private final SecureRandom random = new SecureRandom();
 
+    private RateLimitProperties.Policy issuePolicy;
+
+    @PostConstruct
+    public void init() {
+        // max-requests per window, expressed as a token bucket that refills over the window
+        this.issuePolicy = new RateLimitProperties.Policy();
+        issuePolicy.setName("otp-issue");
+        issuePolicy.setCapacity(rateLimitMaxRequests);
+        issuePolicy.setRefillTokens(rateLimitMaxRequests);
+        issuePolicy.setRefillPeriod(Duration.ofHours(rateLimitWindowHours));
+    }
+
     /**
      * Generate and store OTP for user
      */
@@ -57,21 +74,14 @@ public class OtpServiceImpl implements OtpService {
         // Check rate limiting (existing hour-based rate limit)
         checkRateLimit(email, purpose);
 
-        // Check cooldown and resend attempts
-        checkCooldownAndResendLimit(email, purpose);
-
-        // Delete existing OTPs for this user and purpose
-        if (userId != null) {
-            otpRepository.deleteByUserIdAndPurpose(userId, purpose);
-        } else {
-            otpRepository.deleteByEmailAndPurpose(email, purpose);
-        }
+        // Check cooldown and resend attempts; the count carries over to the new OTP
+        int resendCount = checkCooldownAndResendLimit(email, purpose);
 
         // Generate OTP
         String otp = generateRandomOtp();
-        String otpHash = passwordEncoder.encode(otp);
+        String otpHash = otpHasher.hash(otp, email, purpose);
 
-        // Save OTP with rate limiting fields
+        // Save OTP with rate limiting fields, replacing any existing OTP for this user and purpose
         OtpVerification otpVerification = OtpVerification.builder()
                 .userId(userId)
                 .email(email)
@@ -81,10 +91,10 @@ public class OtpServiceImpl implements OtpService {
                 .maxAttempts(maxAttempts)
                 .expiresAt(LocalDateTime.now().plusMinutes(expirationMinutes))
                 .lastOtpSentAt(LocalDateTime.now())
-                .otpResendCount(0)
+                .otpResendCount(resendCount)
                 .build();
 
-        otpRepository.save(otpVerification);
+        otpStore.replace(otpVerification);
 
         log.info("OTP generated for email: {} with purpose: {}", email, purpose);
         return otp;
@@ -95,44 +105,34 @@ public class OtpServiceImpl implements OtpService {
      */
     @Transactional
     public boolean validateOtp(Long userId, String email, String otp, String purpose) {
-        Optional<OtpVerification> otpVerificationOpt;
-
-        if (userId != null) {
-            otpVerificationOpt = otpRepository.findFirstByUserIdAndPurposeOrderByCreatedAtDesc(userId, purpose);
-        } else {
-            otpVerificationOpt = otpRepository.findFirstByEmailAndPurposeOrderByCreatedAtDesc(email, purpose);
-        }
-
-        if (otpVerificationOpt.isEmpty()) {
-            throw new ValidationException(Constants.ERROR_INVALID_OTP);
-        }
-
-        OtpVerification otpVerification = otpVerificationOpt.get();
+        OtpVerification otpVerification = otpStore.findLatest(userId, email, purpose)
+                .orElseThrow(() -> new ValidationException(Constants.ERROR_INVALID_OTP));
 
         // Check if expired
         if (otpVerification.isExpired()) {
             throw new ValidationException(Constants.ERROR_OTP_EXPIRED);
         }
 
-        // Check if max attempts exceeded
-        if (otpVerification.isMaxAttemptsExceeded()) {
+        // Atomically check and increment attempts
+        if (!otpStore.tryConsumeAttempt(otpVerification)) {
             throw new ValidationException(Constants.ERROR_MAX_OTP_ATTEMPTS);
         }
 
-        // Increment attempts
-        otpVerification.incrementAttempts();
-        otpRepository.save(otpVerification);
-
         // Validate OTP
-        boolean isValid = passwordEncoder.matches(otp, otpVerification.getOtpHash());
+        boolean isValid = otpHasher.matches(
+                otp,
+                otpVerification.getEmail(),
+                otpVerification.getPurpose(),
+                otpVerification.getOtpHash()
+        );
 
         if (isValid) {
             // Delete OTP after successful validation
-            otpRepository.delete(otpVerification);
+            otpStore.delete(otpVerification);
             log.info("OTP validated successfully for email: {}", email);
         } else {
             log.warn("Invalid OTP attempt for email: {}. Attempts: {}/{}",
-                    email, otpVerification.getAttempts(), maxAttempts);
+                    email, otpVerification.getAttempts(), otpVerification.getMaxAttempts());
         }
 
         return isValid;
@@ -142,61 +142,57 @@ public class OtpServiceImpl implements OtpService {
      * Check rate limiting for OTP generation
      */
     private void checkRateLimit(String email, String purpose) {
-        LocalDateTime windowStart = LocalDateTime.now().minusHours(rateLimitWindowHours);
-        long requestCount = otpRepository.countByEmailAndPurposeAndCreatedAtAfter(email, purpose, windowStart);
+        String key = issuePolicy.getName() + ":" + purpose + ":" + email.toLowerCase();
+        RateLimitDecision decision = rateLimiter.tryAcquire(key, issuePolicy);
 
-        if (requestCount >= rateLimitMaxRequests) {
+        if (!decision.isAllowed()) {
             log.warn("Rate limit exceeded for email: {} with purpose: {}", email, purpose);
-            throw new RateLimitExceededException(Constants.ERROR_OTP_RATE_LIMIT);
+            throw new RateLimitExceededException(Constants.ERROR_OTP_RATE_LIMIT, decision.getRetryAfterSeconds());
         }
     }
 
     /**
      * Check cooldown period (60 seconds) and resend attempts limit (5 per hour)
+     *
+     * @return Resend count to store on the new OTP
      */
-    private void checkCooldownAndResendLimit(String email, String purpose) {
+    private int checkCooldownAndResendLimit(String email, String purpose) {
         // Get the most recent OTP record
-        Optional<OtpVerification> recentOtpOpt = otpRepository.findFirstByEmailAndPurposeOrderByCreatedAtDesc(email, purpose);
+        Optional<OtpVerification> recentOtpOpt = otpStore.findLatest(null, email, purpose);
+
+        if (recentOtpOpt.isEmpty()) {
+            return 0;
+        }
 
-        if (recentOtpOpt.isPresent()) {
-            OtpVerification recentOtp = recentOtpOpt.get();
-            LocalDateTime now = LocalDateTime.now();
+        OtpVerification recentOtp = recentOtpOpt.get();
+        LocalDateTime now = LocalDateTime.now();
+        int resendCount = recentOtp.getOtpResendCount();
 
+        if (recentOtp.getLastOtpSentAt() != null) {
             // Check if 60-second cooldown has passed
-            if (recentOtp.getLastOtpSentAt() != null) {
-                long secondsSinceLastSent = java.time.Duration.between(recentOtp.getLastOtpSentAt(), now).getSeconds();
-
-                if (secondsSinceLastSent < 60) {
-                    long remainingSeconds = 60 - secondsSinceLastSent;
-                    log.warn("OTP cooldown active for email: {}. Remaining: {} seconds", email, remainingSeconds);
-                    throw new RateLimitExceededException(
-                            String.format("Please wait %d seconds before requesting a new OTP", remainingSeconds)
-                    );
-                }
+            long secondsSinceLastSent = java.time.Duration.between(recentOtp.getLastOtpSentAt(), now).getSeconds();
+
+            if (secondsSinceLastSent < 60) {
+                long remainingSeconds = 60 - secondsSinceLastSent;
+                log.warn("OTP cooldown active for email: {}. Remaining: {} seconds", email, remainingSeconds);
+                throw new RateLimitExceededException(
+                        String.format("Please wait %d seconds before requesting a new OTP", remainingSeconds),
+                        remainingSeconds
+                );
             }
 
-            // Check resend attempts limit (5 per hour)
-            if (recentOtp.getLastOtpSentAt() != null) {
-                long hoursSinceFirstSent = java.time.Duration.between(recentOtp.getLastOtpSentAt(), now).toHours();
-
-                // Reset counter if more than 1 hour has passed
-                if (hoursSinceFirstSent >= 1) {
-                    recentOtp.setOtpResendCount(0);
-                    otpRepository.save(recentOtp);
-                } else if (recentOtp.getOtpResendCount() >= 5) {
-                    // Max attempts exceeded within the hour
-                    log.warn("OTP resend limit exceeded for email: {}. Attempts: {}", email, recentOtp.getOtpResendCount());
-                    throw new RateLimitExceededException(
-                            "Maximum OTP resend attempts exceeded. Please try again in 1 hour"
-                    );
-                }
+            // Check resend attempts limit (5 per hour), resetting the counter after an hour
+            if (java.time.Duration.between(recentOtp.getLastOtpSentAt(), now).toHours() >= 1) {
+                resendCount = 0;
+            } else if (resendCount >= 5) {
+                log.warn("OTP resend limit exceeded for email: {}. Attempts: {}", email, resendCount);
+                throw new RateLimitExceededException(
+                        "Maximum OTP resend attempts exceeded. Please try again in 1 hour"
+                );
             }
-
-            // Increment resend counter
-            recentOtp.setOtpResendCount(recentOtp.getOtpResendCount() + 1);
-            recentOtp.setLastOtpSentAt(now);
-            otpRepository.save(recentOtp);
         }
+
+        return resendCount + 1;
     }
 
     /**
@@ -207,18 +203,4 @@ public class OtpServiceImpl implements OtpService {
         int otp = random.nextInt(bound);
         return String.format("%0" + otpLength + "d", otp);
     }
-
-    /**
-     * Cleanup expired OTPs (runs every hour)
-     */
-    @Scheduled(cron = "0 0 * * * *")
-    @Transactional
-    public void cleanupExpiredOtps() {
-        try {
-            otpRepository.deleteExpiredOtps(LocalDateTime.now());
-            log.info("Expired OTPs cleaned up successfully");
-        } catch (Exception e) {
-            log.error("Error cleaning up expired OTPs", e);
-        }
-    }
 }
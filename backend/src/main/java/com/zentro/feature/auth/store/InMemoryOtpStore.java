@@ -0,0 +1,300 @@
+package com.zentro.feature.auth.store;
+
+import com.zentro.common.util.TimerWheel;
+import com.zentro.feature.auth.entity.OtpVerification;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory OTP store with timer-wheel expiry
+ * Removes every database round trip from the OTP hot path.
+ * State is per node: use only with a single node or sticky routing by email.
+ * An optional disk snapshot lets codes survive restarts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.otp.store.type", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.security.otp.store.memory.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.security.otp.store.memory.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${app.security.otp.store.memory.snapshot-path:}")
+    private String snapshotPath;
+
+    @Value("${app.security.otp.store.memory.snapshot-interval-seconds:60}")
+    private long snapshotIntervalSeconds;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
+
+    private TimerWheel<String> timerWheel;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        this.timerWheel = new TimerWheel<>(tickMillis, wheelSize, this::onTimeout);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-store-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        restoreSnapshot();
+
+        scheduler.scheduleAtFixedRate(timerWheel::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::sweepExpired, 1, 1, TimeUnit.HOURS);
+        if (isSnapshotEnabled() && snapshotIntervalSeconds > 0) {
+            scheduler.scheduleAtFixedRate(this::writeSnapshot,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+
+        log.info("In-memory OTP store initialized (snapshot: {})", isSnapshotEnabled() ? snapshotPath : "disabled");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        writeSnapshot();
+    }
+
+    @Override
+    public Optional<OtpVerification> findLatest(Long userId, String email, String purpose) {
+        Entry entry = entries.get(key(email, purpose));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (userId != null && !userId.equals(entry.otp.getUserId())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.view());
+    }
+
+    @Override
+    public void replace(OtpVerification otp) {
+        otp.setId(idSequence.incrementAndGet());
+        otp.setCreatedAt(LocalDateTime.now());
+
+        String key = key(otp.getEmail(), otp.getPurpose());
+        entries.put(key, new Entry(copy(otp)));
+
+        timerWheel.schedule(key, toEpochMillis(otp.getExpiresAt()));
+    }
+
+    @Override
+    public boolean tryConsumeAttempt(OtpVerification otp) {
+        Entry entry = entries.get(key(otp.getEmail(), otp.getPurpose()));
+        if (entry == null) {
+            return false;
+        }
+
+        if (!entry.otp.getId().equals(otp.getId())) {
+            return false;
+        }
+        AtomicInteger attempts = entry.attempts;
+
+        // Lock-free attempt accounting so concurrent guesses cannot exceed the limit
+        int max = otp.getMaxAttempts();
+        int current;
+        do {
+            current = attempts.get();
+            if (current >= max) {
+                return false;
+            }
+        } while (!attempts.compareAndSet(current, current + 1));
+
+        otp.setAttempts(current + 1);
+        return true;
+    }
+
+    @Override
+    public void delete(OtpVerification otp) {
+        // Only remove the code that was validated, never one issued concurrently
+        entries.computeIfPresent(key(otp.getEmail(), otp.getPurpose()),
+                (k, entry) -> entry.otp.getId().equals(otp.getId()) ? null : entry);
+    }
+
+    /**
+     * Hourly backstop sweep; expiry is driven by the timer wheel, this only catches anything it missed
+     */
+    private void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        long removed = 0;
+        for (String key : entries.keySet()) {
+            if (expire(key, now, false)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.debug("OTP store sweep removed {} expired entries", removed);
+        }
+    }
+
+    /**
+     * Timer wheel callback
+     */
+    private void onTimeout(String key) {
+        expire(key, LocalDateTime.now(), true);
+    }
+
+    /**
+     * Drop the code for a key if it has expired
+     * Removal happens inside compute so it cannot race with a concurrent replace
+     *
+     * @param reschedule Whether to schedule expiry again if a newer code is still live
+     * @return true if the entry was removed
+     */
+    private boolean expire(String key, LocalDateTime now, boolean reschedule) {
+        Entry remaining = entries.computeIfPresent(key,
+                (k, entry) -> now.isAfter(entry.otp.getExpiresAt()) ? null : entry);
+
+        if (remaining == null) {
+            return true;
+        }
+        if (reschedule) {
+            timerWheel.schedule(key, toEpochMillis(remaining.otp.getExpiresAt()));
+        }
+        return false;
+    }
+
+    private boolean isSnapshotEnabled() {
+        return snapshotPath != null && !snapshotPath.isBlank();
+    }
+
+    /**
+     * Write live entries to disk (temp file + atomic rename)
+     */
+    private void writeSnapshot() {
+        if (!isSnapshotEnabled()) {
+            return;
+        }
+
+        List<SnapshotEntry> snapshot = new ArrayList<>();
+        entries.forEach((key, entry) -> snapshot.add(new SnapshotEntry(key, entry.view())));
+
+        Path target = Paths.get(snapshotPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("OTP store snapshot written with {} entries", snapshot.size());
+        } catch (IOException e) {
+            log.error("Failed to write OTP store snapshot to {}", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Load entries from the last snapshot, dropping anything that expired while down
+     */
+    private void restoreSnapshot() {
+        if (!isSnapshotEnabled() || !Files.exists(Paths.get(snapshotPath))) {
+            return;
+        }
+
+        try {
+            List<SnapshotEntry> snapshot = objectMapper.readValue(
+                    Paths.get(snapshotPath).toFile(), new TypeReference<List<SnapshotEntry>>() { });
+            LocalDateTime now = LocalDateTime.now();
+
+            for (SnapshotEntry saved : snapshot) {
+                idSequence.accumulateAndGet(saved.otp().getId(), Math::max);
+                entries.put(saved.key(), new Entry(saved.otp()));
+                expire(saved.key(), now, true);
+            }
+
+            log.info("Restored {} OTP store entries from {}", entries.size(), snapshotPath);
+        } catch (IOException e) {
+            log.error("Failed to restore OTP store snapshot from {}", snapshotPath, e);
+        }
+    }
+
+    private static String key(String email, String purpose) {
+        return purpose + ":" + email.toLowerCase();
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static OtpVerification copy(OtpVerification otp) {
+        return OtpVerification.builder()
+                .id(otp.getId())
+                .userId(otp.getUserId())
+                .email(otp.getEmail())
+                .otpHash(otp.getOtpHash())
+                .purpose(otp.getPurpose())
+                .attempts(otp.getAttempts())
+                .maxAttempts(otp.getMaxAttempts())
+                .expiresAt(otp.getExpiresAt())
+                .lastOtpSentAt(otp.getLastOtpSentAt())
+                .otpResendCount(otp.getOtpResendCount())
+                .createdAt(otp.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Active code for an email+purpose and its live attempt counter
+     * Entries are immutable apart from the counter; replacing a code swaps the whole entry
+     */
+    private static final class Entry {
+        private final OtpVerification otp;
+        private final AtomicInteger attempts;
+
+        private Entry(OtpVerification otp) {
+            this.otp = otp;
+            this.attempts = new AtomicInteger(otp.getAttempts());
+        }
+
+        /**
+         * Detached copy of the active code with the live attempt count
+         */
+        private OtpVerification view() {
+            OtpVerification view = copy(otp);
+            view.setAttempts(attempts.get());
+            return view;
+        }
+    }
+
+    /**
+     * Serialized form of an entry in the disk snapshot
+     */
+    record SnapshotEntry(String key, OtpVerification otp) {
+    }
+}
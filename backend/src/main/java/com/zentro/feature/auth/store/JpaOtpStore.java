@@ -0,0 +1,65 @@
+package com.zentro.feature.auth.store;
+
+import com.zentro.feature.auth.entity.OtpVerification;
+import com.zentro.feature.auth.repository.OtpVerificationRepository;
+
+import jakarta.persistence.EntityManager;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Database-backed OTP store (default)
+ * Shared by every node, at the cost of a few statements per OTP operation
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.otp.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaOtpStore implements OtpStore {
+
+    private final OtpVerificationRepository otpRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<OtpVerification> findLatest(Long userId, String email, String purpose) {
+        if (userId != null) {
+            return otpRepository.findFirstByUserIdAndPurposeOrderByCreatedAtDesc(userId, purpose);
+        }
+        return otpRepository.findFirstByEmailAndPurposeOrderByCreatedAtDesc(email, purpose);
+    }
+
+    @Override
+    @Transactional
+    public void replace(OtpVerification otp) {
+        if (otp.getUserId() != null) {
+            otpRepository.deleteByUserIdAndPurpose(otp.getUserId(), otp.getPurpose());
+        } else {
+            otpRepository.deleteByEmailAndPurpose(otp.getEmail(), otp.getPurpose());
+        }
+        otpRepository.save(otp);
+    }
+
+    @Override
+    @Transactional
+    public boolean tryConsumeAttempt(OtpVerification otp) {
+        // Conditional UPDATE keeps concurrent attempts from exceeding the limit
+        boolean consumed = otpRepository.incrementAttemptsIfBelowMax(otp.getId()) > 0;
+        if (consumed) {
+            // The UPDATE is the only write; a managed copy would flush its stale count at commit
+            entityManager.detach(otp);
+            otp.incrementAttempts();
+        }
+        return consumed;
+    }
+
+    @Override
+    @Transactional
+    public void delete(OtpVerification otp) {
+        otpRepository.deleteById(otp.getId());
+    }
+}
@@ -0,0 +1,35 @@
+package com.zentro.feature.auth.store;
+
+import com.zentro.feature.auth.entity.OtpVerification;
+
+import java.util.Optional;
+
+/**
+ * Storage abstraction for issued OTP codes
+ * Implementations: database-backed (default) and in-memory with TTL expiry
+ */
+public interface OtpStore {
+
+    /**
+     * Find the latest OTP for a purpose
+     * Looks up by user ID when present, otherwise by email
+     */
+    Optional<OtpVerification> findLatest(Long userId, String email, String purpose);
+
+    /**
+     * Replace any existing OTP for the same user (or email) and purpose with a new one
+     */
+    void replace(OtpVerification otp);
+
+    /**
+     * Atomically consume one validation attempt
+     *
+     * @return true if the attempt was allowed, false if max attempts were already used
+     */
+    boolean tryConsumeAttempt(OtpVerification otp);
+
+    /**
+     * Delete an OTP after successful validation
+     */
+    void delete(OtpVerification otp);
+}
@@ -1,6 +1,9 @@
 package com.zentro.feature.brand.controller;
 
 import com.zentro.common.dto.ApiResponse;
+import com.zentro.common.dto.ConfirmImageUploadRequest;
+import com.zentro.common.dto.ImageUploadRequest;
+import com.zentro.common.dto.ImageUploadResponse;
 import com.zentro.common.util.Constants;
 import com.zentro.feature.brand.dto.BrandRequest;
 import com.zentro.feature.brand.dto.BrandResponse;
@@ -59,6 +62,34 @@ public class AdminBrandController {
         return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_BRAND_UPDATED, brand));
     }
 
+    /**
+     * Get a presigned URL to upload the brand image straight to storage
+     * Requires ADMIN role
+     */
+    @PostMapping("/{id}/image/upload-url")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ImageUploadResponse>> createImageUpload(
+            @PathVariable String id,
+            @Valid @RequestBody ImageUploadRequest request) {
+        log.info("POST /api/v1/admin/brands/{}/image/upload-url", id);
+        ImageUploadResponse upload = brandService.createImageUpload(id, request);
+        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_UPLOAD_URL_CREATED, upload));
+    }
+
+    /**
+     * Attach an image uploaded through a presigned URL
+     * Requires ADMIN role
+     */
+    @PostMapping("/{id}/image/confirm")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BrandResponse>> confirmImageUpload(
+            @PathVariable String id,
+            @Valid @RequestBody ConfirmImageUploadRequest request) {
+        log.info("POST /api/v1/admin/brands/{}/image/confirm", id);
+        BrandResponse brand = brandService.confirmImageUpload(id, request.getKey());
+        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_BRAND_UPDATED, brand));
+    }
+
     /**
      * Delete a brand
      * Requires ADMIN role
@@ -1,10 +1,13 @@
 package com.zentro.feature.brand.controller;
 
+import com.zentro.common.catalog.CatalogResponseCache;
 import com.zentro.common.dto.ApiResponse;
 import com.zentro.common.util.Constants;
 import com.zentro.feature.brand.dto.BrandResponse;
 import com.zentro.feature.brand.service.BrandService;
 
+import jakarta.annotation.PostConstruct;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,6 +29,16 @@ import java.util.List;
 public class BrandController {
 
     private final BrandService brandService;
+    private final CatalogResponseCache responseCache;
+
+    /**
+     * Serve the brand lists from serialized bytes, rebuilt once per catalog change
+     */
+    @PostConstruct
+    public void registerCachedResponses() {
+        responseCache.register("/api/v1/brands", this::allBrands);
+        responseCache.register("/api/v1/brands/featured", this::featuredBrands);
+    }
 
     /**
      * Get all brands (alphabetically sorted)
@@ -34,8 +47,7 @@ public class BrandController {
     @GetMapping
     public ResponseEntity<ApiResponse<List<BrandResponse>>> getAllBrands() {
         log.info("GET /api/v1/brands - Get all brands");
-        List<BrandResponse> brands = brandService.getAllBrands();
-        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_BRANDS_RETRIEVED, brands));
+        return ResponseEntity.ok(allBrands());
     }
 
     /**
@@ -46,7 +58,7 @@ public class BrandController {
     public ResponseEntity<ApiResponse<BrandResponse>> getBrandById(@PathVariable String id) {
         log.info("GET /api/v1/brands/{} - Get brand by ID", id);
         BrandResponse brand = brandService.getBrandById(id);
-        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_BRAND_RETRIEVED, brand));
+        return ResponseEntity.ok(ApiResponse.stable(Constants.SUCCESS_BRAND_RETRIEVED, brand));
     }
 
     /**
@@ -56,7 +68,14 @@ public class BrandController {
     @GetMapping("/featured")
     public ResponseEntity<ApiResponse<List<BrandResponse>>> getFeaturedBrands() {
         log.info("GET /api/v1/brands/featured - Get featured brands");
-        List<BrandResponse> brands = brandService.getFeaturedBrands();
-        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_FEATURED_BRANDS_RETRIEVED, brands));
+        return ResponseEntity.ok(featuredBrands());
+    }
+
+    private ApiResponse<List<BrandResponse>> allBrands() {
+        return ApiResponse.stable(Constants.SUCCESS_BRANDS_RETRIEVED, brandService.getAllBrands());
+    }
+
+    private ApiResponse<List<BrandResponse>> featuredBrands() {
+        return ApiResponse.stable(Constants.SUCCESS_FEATURED_BRANDS_RETRIEVED, brandService.getFeaturedBrands());
     }
 }
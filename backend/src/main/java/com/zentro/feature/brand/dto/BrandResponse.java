@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Response DTO for brand data
@@ -21,6 +22,8 @@ public class BrandResponse {
     private String id; // publicId
     private String name;
     private String imageUrl;
+    private Map<String, String> imageVariants; // width -> URL
+    private String imagePlaceholder; // data: URI
     private Boolean isFeatured;
     private Integer productsCount; // Computed on-the-fly, will be 0 for now
     private LocalDateTime createdAt;
@@ -34,6 +37,8 @@ public class BrandResponse {
                 .id(brand.getPublicId())
                 .name(brand.getName())
                 .imageUrl(brand.getImageUrl())
+                .imageVariants(brand.getImageVariants())
+                .imagePlaceholder(brand.getImagePlaceholder())
                 .isFeatured(brand.getIsFeatured())
                 .productsCount(0) // Will be computed when Product entity exists
                 .createdAt(brand.getCreatedAt())
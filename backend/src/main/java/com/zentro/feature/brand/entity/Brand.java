@@ -7,11 +7,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Brand entity representing product brands in the e-commerce system
@@ -43,6 +46,14 @@ public class Brand {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
+    // Resized copies of the image keyed by width, and the inline placeholder
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "image_variants")
+    private Map<String, String> imageVariants;
+
+    @Column(name = "image_placeholder", length = 2000)
+    private String imagePlaceholder;
+
     @Column(name = "is_featured", nullable = false)
     private Boolean isFeatured = false;
 
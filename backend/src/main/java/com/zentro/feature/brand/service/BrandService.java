@@ -1,5 +1,7 @@
 package com.zentro.feature.brand.service;
 
+import com.zentro.common.dto.ImageUploadRequest;
+import com.zentro.common.dto.ImageUploadResponse;
 import com.zentro.feature.brand.dto.BrandRequest;
 import com.zentro.feature.brand.dto.BrandResponse;
 
@@ -37,6 +39,16 @@ public interface BrandService {
      */
     BrandResponse updateBrand(String publicId, BrandRequest request, MultipartFile image);
 
+    /**
+     * Issue a presigned URL for uploading a brand image straight to storage (ADMIN only)
+     */
+    ImageUploadResponse createImageUpload(String publicId, ImageUploadRequest request);
+
+    /**
+     * Attach an image uploaded through a presigned URL, replacing the old one (ADMIN only)
+     */
+    BrandResponse confirmImageUpload(String publicId, String key);
+
     /**
      * Delete a brand (ADMIN only)
      */
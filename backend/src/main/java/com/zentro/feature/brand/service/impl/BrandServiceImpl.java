@@ -1,7 +1,13 @@
 package com.zentro.feature.brand.service.impl;
 
+import com.zentro.common.catalog.CatalogEntity;
+import com.zentro.common.catalog.CatalogVersion;
+import com.zentro.common.dto.ImageUploadRequest;
+import com.zentro.common.dto.ImageUploadResponse;
 import com.zentro.common.exception.BadRequestException;
 import com.zentro.common.exception.ResourceNotFoundException;
+import com.zentro.common.image.StoredImage;
+import com.zentro.common.service.ImageReferences;
 import com.zentro.common.service.R2StorageService;
 import com.zentro.common.util.Constants;
 import com.zentro.common.util.PublicIdGenerator;
@@ -16,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -23,6 +30,7 @@ import java.util.stream.Collectors;
 
 /**
  * Implementation of BrandService with business logic
+ * Image uploads run before the write transaction opens, so no connection is held across R2 calls.
  */
 @Slf4j
 @Service
@@ -31,6 +39,9 @@ public class BrandServiceImpl implements BrandService {
 
     private final BrandRepository brandRepository;
     private final R2StorageService r2StorageService;
+    private final ImageReferences imageReferences;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
@@ -65,59 +76,100 @@ public class BrandServiceImpl implements BrandService {
     public BrandResponse createBrand(BrandRequest request, MultipartFile image) {
         log.info("Creating new brand with name: {}", request.getName());
 
-        // Check global name uniqueness
-        if (brandRepository.existsByName(request.getName())) {
-            throw new BadRequestException(Constants.ERROR_BRAND_NAME_EXISTS);
-        }
+        // Handle image upload
+        StoredImage storedImage = image != null && !image.isEmpty()
+                ? r2StorageService.uploadImage(image, Constants.R2_FOLDER_BRANDS)
+                : null;
+
+        return transactionTemplate.execute(status -> {
+            // Check global name uniqueness
+            if (brandRepository.existsByName(request.getName())) {
+                throw new BadRequestException(Constants.ERROR_BRAND_NAME_EXISTS);
+            }
 
-        Brand brand = new Brand();
-        brand.setPublicId(PublicIdGenerator.generate(Constants.PREFIX_BRAND_PUBLIC_ID));
-        brand.setName(request.getName());
-        brand.setIsFeatured(request.getIsFeatured() != null ? request.getIsFeatured() : false);
+            Brand brand = new Brand();
+            brand.setPublicId(PublicIdGenerator.generate(Constants.PREFIX_BRAND_PUBLIC_ID));
+            brand.setName(request.getName());
+            brand.setIsFeatured(request.getIsFeatured() != null ? request.getIsFeatured() : false);
 
-        // Handle image upload
-        if (image != null && !image.isEmpty()) {
-            String imageUrl = r2StorageService.uploadFile(image, Constants.R2_FOLDER_BRANDS);
-            brand.setImageUrl(imageUrl);
-        }
+            if (storedImage != null) {
+                imageReferences.acquire(storedImage);
+                setImage(brand, storedImage);
+            }
 
-        Brand savedBrand = brandRepository.save(brand);
-        log.info("Brand created successfully with id: {}", savedBrand.getPublicId());
+            Brand savedBrand = brandRepository.save(brand);
+            catalogVersion.bump(CatalogEntity.BRAND, savedBrand.getPublicId());
+            log.info("Brand created successfully with id: {}", savedBrand.getPublicId());
 
-        return BrandResponse.from(savedBrand);
+            return BrandResponse.from(savedBrand);
+        });
     }
 
     @Override
-    @Transactional
     public BrandResponse updateBrand(String publicId, BrandRequest request, MultipartFile image) {
         log.info("Updating brand with publicId: {}", publicId);
 
-        Brand brand = findBrandByPublicId(publicId);
+        StoredImage newImage = image != null && !image.isEmpty()
+                ? r2StorageService.uploadImage(image, Constants.R2_FOLDER_BRANDS)
+                : null;
+
+        return transactionTemplate.execute(status -> {
+            Brand brand = findBrandByPublicId(publicId);
 
-        // Check name uniqueness excluding current brand
-        if (!brand.getName().equals(request.getName()) &&
-                brandRepository.existsByNameAndIdNot(request.getName(), brand.getId())) {
-            throw new BadRequestException(Constants.ERROR_BRAND_NAME_EXISTS);
-        }
-
-        // Update fields
-        brand.setName(request.getName());
-        brand.setIsFeatured(request.getIsFeatured() != null ? request.getIsFeatured() : false);
-
-        // Handle image update
-        if (image != null && !image.isEmpty()) {
-            // Delete old image if exists
-            if (brand.getImageUrl() != null && !brand.getImageUrl().isEmpty()) {
-                r2StorageService.deleteFile(brand.getImageUrl());
+            // Check name uniqueness excluding current brand
+            if (!brand.getName().equals(request.getName()) &&
+                    brandRepository.existsByNameAndIdNot(request.getName(), brand.getId())) {
+                throw new BadRequestException(Constants.ERROR_BRAND_NAME_EXISTS);
             }
-            String imageUrl = r2StorageService.uploadFile(image, Constants.R2_FOLDER_BRANDS);
-            brand.setImageUrl(imageUrl);
-        }
 
-        Brand updatedBrand = brandRepository.save(brand);
-        log.info("Brand updated successfully: {}", updatedBrand.getPublicId());
+            // Update fields
+            brand.setName(request.getName());
+            brand.setIsFeatured(request.getIsFeatured() != null ? request.getIsFeatured() : false);
+
+            // Handle image update; the old image is released together with the row change
+            if (newImage != null) {
+                imageReferences.release(brand.getImageUrl(), brand.getImageVariants());
+                imageReferences.acquire(newImage);
+                setImage(brand, newImage);
+            }
+
+            Brand updatedBrand = brandRepository.save(brand);
+            catalogVersion.bump(CatalogEntity.BRAND, updatedBrand.getPublicId());
+            log.info("Brand updated successfully: {}", updatedBrand.getPublicId());
+
+            return BrandResponse.from(updatedBrand);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImageUploadResponse createImageUpload(String publicId, ImageUploadRequest request) {
+        Brand brand = findBrandByPublicId(publicId);
+        return r2StorageService.presignImageUpload(imagePrefix(brand.getPublicId()),
+                request.getContentType(), request.getContentLength());
+    }
+
+    @Override
+    public BrandResponse confirmImageUpload(String publicId, String key) {
+        // Unknown brands get a 404 before R2 is touched
+        findBrandByPublicId(publicId);
+        StoredImage image = r2StorageService.confirmImageUpload(imagePrefix(publicId), key);
+
+        return transactionTemplate.execute(status -> {
+            Brand brand = findBrandByPublicId(publicId);
+
+            // Confirming the same upload twice must not delete the attached image
+            if (!image.getUrl().equals(brand.getImageUrl())) {
+                imageReferences.release(brand.getImageUrl(), brand.getImageVariants());
+                imageReferences.acquire(image);
+                setImage(brand, image);
+                brand = brandRepository.save(brand);
+                catalogVersion.bump(CatalogEntity.BRAND, publicId);
+                log.info("Brand image attached from presigned upload: {}", image.getUrl());
+            }
 
-        return BrandResponse.from(updatedBrand);
+            return BrandResponse.from(brand);
+        });
     }
 
     @Override
@@ -132,15 +184,30 @@ public class BrandServiceImpl implements BrandService {
         //     throw new BadRequestException(Constants.ERROR_BRAND_HAS_PRODUCTS);
         // }
 
-        // Delete image if exists
-        if (brand.getImageUrl() != null && !brand.getImageUrl().isEmpty()) {
-            r2StorageService.deleteFile(brand.getImageUrl());
-        }
+        // Release image; it is deleted once nothing else uses it
+        imageReferences.release(brand.getImageUrl(), brand.getImageVariants());
 
         brandRepository.delete(brand);
+        catalogVersion.bump(CatalogEntity.BRAND, publicId);
         log.info("Brand deleted successfully: {}", publicId);
     }
 
+    /**
+     * Helper method to point a brand at an uploaded image and its variants
+     */
+    private void setImage(Brand brand, StoredImage image) {
+        brand.setImageUrl(image.getUrl());
+        brand.setImageVariants(image.getVariants());
+        brand.setImagePlaceholder(image.getPlaceholder());
+    }
+
+    /**
+     * Helper method for the key prefix presigned uploads of a brand are scoped to
+     */
+    private String imagePrefix(String publicId) {
+        return Constants.R2_FOLDER_BRANDS + "/" + publicId;
+    }
+
     /**
      * Helper method to find brand by public ID
      */
@@ -1,6 +1,9 @@
 package com.zentro.feature.category.controller;
 
 import com.zentro.common.dto.ApiResponse;
+import com.zentro.common.dto.ConfirmImageUploadRequest;
+import com.zentro.common.dto.ImageUploadRequest;
+import com.zentro.common.dto.ImageUploadResponse;
 import com.zentro.common.util.Constants;
 import com.zentro.feature.category.dto.CategoryRequest;
 import com.zentro.feature.category.dto.CategoryResponse;
@@ -62,6 +65,34 @@ public class AdminCategoryController {
         return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_CATEGORY_UPDATED, response));
     }
     
+    /**
+     * POST /api/v1/admin/categories/{id}/image/upload-url
+     * Get a presigned URL to upload the category image straight to storage
+     * Requires ADMIN role
+     */
+    @PostMapping("/{id}/image/upload-url")
+    public ResponseEntity<ApiResponse<ImageUploadResponse>> createImageUpload(
+            @PathVariable String id,
+            @Valid @RequestBody ImageUploadRequest request) {
+        log.info("POST /api/v1/admin/categories/{}/image/upload-url", id);
+        ImageUploadResponse response = categoryService.createImageUpload(id, request);
+        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_UPLOAD_URL_CREATED, response));
+    }
+    
+    /**
+     * POST /api/v1/admin/categories/{id}/image/confirm
+     * Attach an image uploaded through a presigned URL
+     * Requires ADMIN role
+     */
+    @PostMapping("/{id}/image/confirm")
+    public ResponseEntity<ApiResponse<CategoryResponse>> confirmImageUpload(
+            @PathVariable String id,
+            @Valid @RequestBody ConfirmImageUploadRequest request) {
+        log.info("POST /api/v1/admin/categories/{}/image/confirm", id);
+        CategoryResponse response = categoryService.confirmImageUpload(id, request.getKey());
+        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_CATEGORY_UPDATED, response));
+    }
+    
     /**
      * DELETE /api/v1/admin/categories/{id}
      * Delete a category
@@ -1,10 +1,14 @@
 package com.zentro.feature.category.controller;
 
+import com.zentro.common.catalog.CatalogResponseCache;
 import com.zentro.common.dto.ApiResponse;
 import com.zentro.common.util.Constants;
+import com.zentro.feature.category.dto.CategoryNodeResponse;
 import com.zentro.feature.category.dto.CategoryResponse;
 import com.zentro.feature.category.service.CategoryService;
 
+import jakarta.annotation.PostConstruct;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,6 +31,16 @@ import java.util.List;
 public class CategoryController {
     
     private final CategoryService categoryService;
+    private final CatalogResponseCache responseCache;
+    
+    /**
+     * Serve the category lists from serialized bytes, rebuilt once per catalog change
+     */
+    @PostConstruct
+    public void registerCachedResponses() {
+        responseCache.register("/api/v1/categories", this::rootCategories);
+        responseCache.register("/api/v1/categories/featured", this::featuredCategories);
+    }
     
     /**
      * GET /api/v1/categories
@@ -35,8 +49,7 @@ public class CategoryController {
     @GetMapping
     public ResponseEntity<ApiResponse<List<CategoryResponse>>> getRootCategories() {
         log.info("GET /api/v1/categories - Get root categories");
-        List<CategoryResponse> categories = categoryService.getRootCategories();
-        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_ROOT_CATEGORIES_RETRIEVED, categories));
+        return ResponseEntity.ok(rootCategories());
     }
     
     /**
@@ -47,7 +60,7 @@ public class CategoryController {
     public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(@PathVariable String id) {
         log.info("GET /api/v1/categories/{} - Get category details", id);
         CategoryResponse category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_CATEGORY_RETRIEVED, category));
+        return ResponseEntity.ok(ApiResponse.stable(Constants.SUCCESS_CATEGORY_RETRIEVED, category));
     }
     
     /**
@@ -58,7 +71,29 @@ public class CategoryController {
     public ResponseEntity<ApiResponse<List<CategoryResponse>>> getSubcategories(@PathVariable String id) {
         log.info("GET /api/v1/categories/{}/children - Get subcategories", id);
         List<CategoryResponse> subcategories = categoryService.getSubcategories(id);
-        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_SUBCATEGORIES_RETRIEVED, subcategories));
+        return ResponseEntity.ok(ApiResponse.stable(Constants.SUCCESS_SUBCATEGORIES_RETRIEVED, subcategories));
+    }
+    
+    /**
+     * GET /api/v1/categories/{id}/breadcrumbs
+     * Get the path from the root down to a category
+     */
+    @GetMapping("/{id}/breadcrumbs")
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getBreadcrumbs(@PathVariable String id) {
+        log.info("GET /api/v1/categories/{}/breadcrumbs - Get breadcrumbs", id);
+        List<CategoryResponse> breadcrumbs = categoryService.getBreadcrumbs(id);
+        return ResponseEntity.ok(ApiResponse.stable(Constants.SUCCESS_CATEGORY_BREADCRUMBS_RETRIEVED, breadcrumbs));
+    }
+    
+    /**
+     * GET /api/v1/categories/{id}/subtree
+     * Get a category with all of its descendants, nested
+     */
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<ApiResponse<CategoryNodeResponse>> getSubtree(@PathVariable String id) {
+        log.info("GET /api/v1/categories/{}/subtree - Get subtree", id);
+        CategoryNodeResponse subtree = categoryService.getSubtree(id);
+        return ResponseEntity.ok(ApiResponse.stable(Constants.SUCCESS_CATEGORY_SUBTREE_RETRIEVED, subtree));
     }
     
     /**
@@ -68,7 +103,14 @@ public class CategoryController {
     @GetMapping("/featured")
     public ResponseEntity<ApiResponse<List<CategoryResponse>>> getFeaturedCategories() {
         log.info("GET /api/v1/categories/featured - Get featured categories");
-        List<CategoryResponse> categories = categoryService.getFeaturedCategories();
-        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_FEATURED_CATEGORIES_RETRIEVED, categories));
+        return ResponseEntity.ok(featuredCategories());
+    }
+    
+    private ApiResponse<List<CategoryResponse>> rootCategories() {
+        return ApiResponse.stable(Constants.SUCCESS_ROOT_CATEGORIES_RETRIEVED, categoryService.getRootCategories());
+    }
+    
+    private ApiResponse<List<CategoryResponse>> featuredCategories() {
+        return ApiResponse.stable(Constants.SUCCESS_FEATURED_CATEGORIES_RETRIEVED, categoryService.getFeaturedCategories());
     }
 }
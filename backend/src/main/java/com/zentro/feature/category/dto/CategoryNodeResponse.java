@@ -0,0 +1,25 @@
+package com.zentro.feature.category.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A category with everything below it, for subtree responses
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryNodeResponse {
+    
+    private CategoryResponse category;
+    
+    /**
+     * Child categories with their own subtrees, empty for leaves
+     */
+    private List<CategoryNodeResponse> children;
+}
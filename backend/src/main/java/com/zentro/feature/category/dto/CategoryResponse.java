@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Response DTO for category data
@@ -22,6 +23,8 @@ public class CategoryResponse {
     private String id; // Public ID (e.g., CAT-1733707200-A7X9F2)
     private String name;
     private String imageUrl;
+    private Map<String, String> imageVariants; // width -> URL
+    private String imagePlaceholder; // data: URI
     private Boolean isFeatured;
     
     /**
@@ -43,12 +46,22 @@ public class CategoryResponse {
      * Factory method to create CategoryResponse from Category entity
      */
     public static CategoryResponse from(Category category) {
+        return from(category, category.getChildrenCount());
+    }
+    
+    /**
+     * Factory method for when the children were counted elsewhere
+     * The parent must already be loaded; children are not touched.
+     */
+    public static CategoryResponse from(Category category, int childrenCount) {
         CategoryResponseBuilder builder = CategoryResponse.builder()
                 .id(category.getPublicId())
                 .name(category.getName())
                 .imageUrl(category.getImageUrl())
+                .imageVariants(category.getImageVariants())
+                .imagePlaceholder(category.getImagePlaceholder())
                 .isFeatured(category.getIsFeatured())
-                .childrenCount(category.getChildrenCount())
+                .childrenCount(childrenCount)
                 .createdAt(category.getCreatedAt())
                 .updatedAt(category.getUpdatedAt());
         
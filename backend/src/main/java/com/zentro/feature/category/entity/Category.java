@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 
 import lombok.*;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,10 +13,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Category entity with parent-child hierarchy
- * Two-level structure: root categories (parent = null) and subcategories
+ * Nests to any depth: root categories have parent = null. Ancestry is also kept in the
+ * category_closure table, and the table itself is created by Flyway (V4), so the indexes below
+ * are for reference only; sibling names are unique ignoring case (idx_category_sibling_name).
  */
 @Entity
 @Table(
@@ -46,6 +51,14 @@ public class Category {
     
     @Column(name = "image_url", length = 500)
     private String imageUrl;
+
+    // Resized copies of the image keyed by width, and the inline placeholder
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "image_variants")
+    private Map<String, String> imageVariants;
+
+    @Column(name = "image_placeholder", length = 2000)
+    private String imagePlaceholder;
     
     @Column(name = "is_featured", nullable = false)
     @Builder.Default
@@ -0,0 +1,245 @@
+package com.zentro.feature.category.index;
+
+import com.zentro.common.catalog.CatalogVersion;
+import com.zentro.common.datasource.PrimaryReads;
+import com.zentro.feature.category.dto.CategoryNodeResponse;
+import com.zentro.feature.category.dto.CategoryResponse;
+import com.zentro.feature.category.entity.Category;
+import com.zentro.feature.category.repository.CategoryRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable in-memory copy of the whole category tree
+ * Public category reads are answered from the current snapshot without touching the database.
+ * A new snapshot is loaded in one query and swapped in whole whenever a category changes,
+ * whether the write was made on this node or another; brand-only versions leave it alone.
+ * Readers keep whichever snapshot they started with, so they never see a half-applied change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryTree {
+
+    private static final String METRIC_PREFIX = "zentro.categories.tree";
+
+    private final CategoryRepository categoryRepository;
+    private final CatalogVersion catalogVersion;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    // Held across the database load, where a monitor would pin the carrier of every virtual thread queued on it
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+    private long nextVersion = 1;
+
+    // Rebuilds after a commit must not read through the writer's persistence context
+    private TransactionTemplate loadTransaction;
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    public void init() {
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        loadTransaction.setReadOnly(true);
+        catalogVersion.onChange(changes -> {
+            if (changes.touchesCategories()) {
+                rebuild();
+            }
+        });
+
+        this.rebuildTimer = Timer.builder(METRIC_PREFIX + ".rebuild.duration")
+                .description("Time to load and build a category tree snapshot")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, tree -> tree.gaugeValue(s -> s.byId().size()))
+                .description("Categories held in the current snapshot")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".memory", this, tree -> tree.gaugeValue(Snapshot::estimatedBytes))
+                .description("Approximate heap held by the current snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".version", this, tree -> tree.gaugeValue(Snapshot::version))
+                .description("Version of the current snapshot, incremented on every rebuild")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The current snapshot, loaded on first use
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    /**
+     * Load every category and swap in a new snapshot
+     * Rebuilds run one at a time, so the last one to start is the one left in place.
+     */
+    public Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            return load();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        long start = System.nanoTime();
+        // A replica may lag behind the catalog version this snapshot is published under
+        List<Category> categories;
+        try (PrimaryReads.Scope ignored = PrimaryReads.open()) {
+            categories = loadTransaction.execute(status -> categoryRepository.findAllWithParent());
+        }
+
+        Map<Long, Integer> childrenCounts = new HashMap<>();
+        for (Category category : categories) {
+            if (category.getParent() != null) {
+                childrenCounts.merge(category.getParent().getId(), 1, Integer::sum);
+            }
+        }
+
+        Map<String, CategoryResponse> byId = new LinkedHashMap<>();
+        List<CategoryResponse> roots = new ArrayList<>();
+        List<CategoryResponse> featured = new ArrayList<>();
+        Map<String, List<CategoryResponse>> children = new HashMap<>();
+        long estimatedBytes = 0;
+        for (Category category : categories) {
+            CategoryResponse response = CategoryResponse.from(category, childrenCounts.getOrDefault(category.getId(), 0));
+            if (response.getImageVariants() != null) {
+                response.setImageVariants(Map.copyOf(response.getImageVariants()));
+            }
+
+            byId.put(response.getId(), response);
+            if (response.getParentId() == null) {
+                roots.add(response);
+            } else {
+                children.computeIfAbsent(response.getParentId(), id -> new ArrayList<>()).add(response);
+            }
+            if (Boolean.TRUE.equals(response.getIsFeatured())) {
+                featured.add(response);
+            }
+            estimatedBytes += estimateBytes(response);
+        }
+
+        Map<String, List<CategoryResponse>> frozenChildren = new HashMap<>();
+        children.forEach((parentId, list) -> frozenChildren.put(parentId, List.copyOf(list)));
+
+        // Subtrees share their nodes, so every category's subtree is ready at no extra cost
+        Map<String, CategoryNodeResponse> nodes = new HashMap<>();
+        for (CategoryResponse root : roots) {
+            node(root, frozenChildren, nodes);
+        }
+        estimatedBytes += 48L * nodes.size();
+
+        Snapshot built = new Snapshot(nextVersion++, Map.copyOf(byId), List.copyOf(roots),
+                Map.copyOf(frozenChildren), Map.copyOf(nodes), List.copyOf(featured), estimatedBytes);
+        snapshot = built;
+
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("Category tree v{} built with {} categories in {} ms",
+                built.version(), categories.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return built;
+    }
+
+    private static CategoryNodeResponse node(CategoryResponse category, Map<String, List<CategoryResponse>> children,
+                                             Map<String, CategoryNodeResponse> nodes) {
+        List<CategoryNodeResponse> childNodes = children.getOrDefault(category.getId(), List.of()).stream()
+                .map(child -> node(child, children, nodes))
+                .toList();
+        CategoryNodeResponse node = new CategoryNodeResponse(category, childNodes);
+        nodes.put(category.getId(), node);
+        return node;
+    }
+
+    private double gaugeValue(ToLongFunction<Snapshot> value) {
+        Snapshot current = snapshot;
+        return current != null ? value.applyAsLong(current) : 0;
+    }
+
+    /**
+     * Rough heap size of one response: the object, its strings and timestamps, and its index entries
+     */
+    private static long estimateBytes(CategoryResponse response) {
+        long bytes = 160;
+        bytes += stringBytes(response.getId()) + stringBytes(response.getName())
+                + stringBytes(response.getImageUrl()) + stringBytes(response.getImagePlaceholder())
+                + stringBytes(response.getParentName());
+        if (response.getImageVariants() != null) {
+            for (Map.Entry<String, String> variant : response.getImageVariants().entrySet()) {
+                bytes += 32 + stringBytes(variant.getKey()) + stringBytes(variant.getValue());
+            }
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value != null ? 40 + value.length() : 0;
+    }
+
+    /**
+     * One immutable version of the tree
+     * Responses are shared between requests and must not be modified.
+     */
+    public record Snapshot(
+            long version,
+            Map<String, CategoryResponse> byId,
+            List<CategoryResponse> roots,
+            Map<String, List<CategoryResponse>> children,
+            Map<String, CategoryNodeResponse> nodes,
+            List<CategoryResponse> featured,
+            long estimatedBytes
+    ) {
+
+        public Optional<CategoryResponse> find(String publicId) {
+            return Optional.ofNullable(byId.get(publicId));
+        }
+
+        public List<CategoryResponse> childrenOf(String publicId) {
+            return children.getOrDefault(publicId, List.of());
+        }
+
+        public Optional<CategoryNodeResponse> subtree(String publicId) {
+            return Optional.ofNullable(nodes.get(publicId));
+        }
+
+        /**
+         * The category and its ancestors, root first
+         */
+        public List<CategoryResponse> breadcrumbs(String publicId) {
+            List<CategoryResponse> path = new ArrayList<>();
+            CategoryResponse current = byId.get(publicId);
+            while (current != null && path.size() < byId.size()) {
+                path.add(current);
+                current = current.getParentId() != null ? byId.get(current.getParentId()) : null;
+            }
+            Collections.reverse(path);
+            return List.copyOf(path);
+        }
+    }
+}
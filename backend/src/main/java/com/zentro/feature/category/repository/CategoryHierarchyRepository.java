@@ -0,0 +1,105 @@
+package com.zentro.feature.category.repository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Ancestor/descendant pairs of the category hierarchy, kept in the category_closure table
+ * Every category is paired with itself and each of its ancestors, with the distance between
+ * them. Callers take the lock before adding or moving categories. Changes run in the caller's transaction alongside the category row they belong to;
+ * rows of a deleted category go with it through the cascading foreign keys.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoryHierarchyRepository {
+
+    private static final long LOCK_KEY = UUID.nameUUIDFromBytes(
+            "zentro.categories.hierarchy".getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(:key)";
+
+    // The new category under each of its parent's ancestors, and under itself
+    private static final String INSERT_SQL = """
+            INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+            SELECT ancestor_id, :id, depth + 1 FROM category_closure WHERE descendant_id = :parentId
+            UNION ALL
+            SELECT :id, :id, 0
+            """;
+
+    private static final String IS_DESCENDANT_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM category_closure WHERE ancestor_id = :ancestorId AND descendant_id = :descendantId
+            )
+            """;
+
+    // Ancestors the branch leaves lose their pairs with it and ancestors it joins gain them;
+    // ancestors it keeps only have their depth updated, so the two sets of rows never overlap
+    private static final String MOVE_SQL = """
+            WITH subtree AS (
+                SELECT descendant_id, depth FROM category_closure WHERE ancestor_id = :id
+            ),
+            new_ancestors AS (
+                SELECT ancestor_id, depth + 1 AS depth FROM category_closure WHERE descendant_id = :parentId
+            ),
+            removed AS (
+                DELETE FROM category_closure c
+                USING subtree s
+                WHERE c.descendant_id = s.descendant_id
+                  AND c.ancestor_id IN (
+                      SELECT ancestor_id FROM category_closure WHERE descendant_id = :id AND ancestor_id <> :id
+                      EXCEPT
+                      SELECT ancestor_id FROM new_ancestors
+                  )
+            )
+            INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+            SELECT a.ancestor_id, s.descendant_id, a.depth + s.depth
+            FROM new_ancestors a CROSS JOIN subtree s
+            ON CONFLICT (ancestor_id, descendant_id) DO UPDATE SET depth = EXCLUDED.depth
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Add a new category under its parent, or as a root if the parent is null
+     */
+    public void insert(long id, Long parentId) {
+        jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("parentId", parentId));
+    }
+
+    /**
+     * Serialize hierarchy changes until the current transaction ends
+     * Two moves checked against each other's old state could otherwise close a loop, and a
+     * category added under a branch being moved could copy its old ancestors.
+     */
+    public void lock() {
+        jdbcTemplate.queryForList(LOCK_SQL, new MapSqlParameterSource("key", LOCK_KEY));
+    }
+
+    /**
+     * Check if a category is the other one or somewhere below it
+     */
+    public boolean isSelfOrDescendant(long ancestorId, long descendantId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_DESCENDANT_SQL, new MapSqlParameterSource()
+                .addValue("ancestorId", ancestorId)
+                .addValue("descendantId", descendantId), Boolean.class));
+    }
+
+    /**
+     * Move a category and everything below it under a new parent, or to the root if it is null
+     * One statement however large the branch is. The caller must rule out moving a category
+     * below itself first.
+     */
+    public void move(long id, Long parentId) {
+        jdbcTemplate.update(MOVE_SQL, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("parentId", parentId));
+    }
+}
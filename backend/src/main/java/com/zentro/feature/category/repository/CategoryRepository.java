@@ -3,6 +3,7 @@ package com.zentro.feature.category.repository;
 import com.zentro.feature.category.entity.Category;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,6 +16,12 @@ import java.util.Optional;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
+    /**
+     * Load every category with its parent in one query, for the in-memory tree
+     */
+    @Query("SELECT c FROM Category c LEFT JOIN FETCH c.parent ORDER BY c.id")
+    List<Category> findAllWithParent();
+    
     /**
      * Find category by public ID
      */
@@ -36,15 +43,21 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByIsFeaturedTrue();
     
     /**
-     * Check if category name exists under same parent (sibling uniqueness)
-     * Used for validation when creating/updating categories
-     */
-    boolean existsByNameAndParent(String name, Category parent);
-    
-    /**
-     * Check if category name exists as root category
+     * Check if a sibling already has the name, ignoring case
+     * Matches the idx_category_sibling_name expression index, so it is a single index probe.
+     * 
+     * @param parentId Parent ID, or null for root categories
+     * @param excludeId Category to leave out (the one being updated), or null
      */
-    boolean existsByNameAndParentIsNull(String name);
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1 FROM categories
+                WHERE COALESCE(parent_id, 0) = COALESCE(CAST(:parentId AS BIGINT), 0)
+                  AND lower(name) = lower(:name)
+                  AND id <> COALESCE(CAST(:excludeId AS BIGINT), 0)
+            )
+            """, nativeQuery = true)
+    boolean existsSiblingName(String name, Long parentId, Long excludeId);
     
     /**
      * Count children of a parent category
@@ -1,5 +1,8 @@
 package com.zentro.feature.category.service;
 
+import com.zentro.common.dto.ImageUploadRequest;
+import com.zentro.common.dto.ImageUploadResponse;
+import com.zentro.feature.category.dto.CategoryNodeResponse;
 import com.zentro.feature.category.dto.CategoryRequest;
 import com.zentro.feature.category.dto.CategoryResponse;
 
@@ -35,6 +38,22 @@ public interface CategoryService {
      */
     List<CategoryResponse> getSubcategories(String parentPublicId);
     
+    /**
+     * Get a category and its ancestors, for breadcrumbs
+     * 
+     * @param publicId Category public ID
+     * @return Categories from the root down to this one
+     */
+    List<CategoryResponse> getBreadcrumbs(String publicId);
+    
+    /**
+     * Get a category with all of its descendants, nested
+     * 
+     * @param publicId Category public ID
+     * @return The category and its subtree
+     */
+    CategoryNodeResponse getSubtree(String publicId);
+    
     /**
      * Get all featured categories
      * 
@@ -53,6 +72,7 @@ public interface CategoryService {
     
     /**
      * Update an existing category (ADMIN only)
+     * Changing the parent moves the category together with everything below it
      * 
      * @param publicId Category public ID
      * @param request Category update request
@@ -61,6 +81,24 @@ public interface CategoryService {
      */
     CategoryResponse updateCategory(String publicId, CategoryRequest request, MultipartFile imageFile);
     
+    /**
+     * Issue a presigned URL for uploading a category image straight to storage (ADMIN only)
+     * 
+     * @param publicId Category public ID
+     * @param request Declared content type and size of the image
+     * @return Upload URL and the key to confirm once the upload is done
+     */
+    ImageUploadResponse createImageUpload(String publicId, ImageUploadRequest request);
+    
+    /**
+     * Attach an image uploaded through a presigned URL, replacing the old one (ADMIN only)
+     * 
+     * @param publicId Category public ID
+     * @param key Key returned by createImageUpload
+     * @return Updated category
+     */
+    CategoryResponse confirmImageUpload(String publicId, String key);
+    
     /**
      * Delete a category (ADMIN only)
      * Cannot delete if category has children or products
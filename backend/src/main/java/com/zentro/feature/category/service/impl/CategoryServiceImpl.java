@@ -1,29 +1,43 @@
 package com.zentro.feature.category.service.impl;
 
+import com.zentro.common.catalog.CatalogEntity;
+import com.zentro.common.catalog.CatalogVersion;
+import com.zentro.common.dto.ImageUploadRequest;
+import com.zentro.common.dto.ImageUploadResponse;
 import com.zentro.common.exception.BadRequestException;
 import com.zentro.common.exception.ResourceNotFoundException;
+import com.zentro.common.image.StoredImage;
+import com.zentro.common.service.ImageReferences;
 import com.zentro.common.service.R2StorageService;
 import com.zentro.common.util.Constants;
 import com.zentro.common.util.PublicIdGenerator;
+import com.zentro.feature.category.dto.CategoryNodeResponse;
 import com.zentro.feature.category.dto.CategoryRequest;
 import com.zentro.feature.category.dto.CategoryResponse;
 import com.zentro.feature.category.entity.Category;
+import com.zentro.feature.category.index.CategoryTree;
+import com.zentro.feature.category.repository.CategoryHierarchyRepository;
 import com.zentro.feature.category.repository.CategoryRepository;
 import com.zentro.feature.category.service.CategoryService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
  * Implementation of category service
  * Handles category CRUD operations and hierarchy management
+ * Categories nest to any depth; ancestry is kept in the closure table alongside each change.
+ * Public reads are served from the in-memory category tree; each write bumps the catalog version, which rebuilds it.
+ * Image uploads run before the write transaction opens, so no connection is held across R2 calls.
  */
 @Slf4j
 @Service
@@ -31,59 +45,159 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final CategoryHierarchyRepository categoryHierarchyRepository;
     private final R2StorageService r2StorageService;
+    private final ImageReferences imageReferences;
+    private final CategoryTree categoryTree;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
     
     @Override
-    @Transactional(readOnly = true)
     public List<CategoryResponse> getRootCategories() {
         log.info("Fetching all root categories");
-        List<Category> categories = categoryRepository.findByParentIsNull();
-        return categories.stream()
-                .map(CategoryResponse::from)
-                .collect(Collectors.toList());
+        return categoryTree.current().roots();
     }
     
     @Override
-    @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(String publicId) {
         log.info("Fetching category by publicId: {}", publicId);
-        Category category = categoryRepository.findByPublicId(publicId)
+        return categoryTree.current().find(publicId)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND));
-        return CategoryResponse.from(category);
     }
     
     @Override
-    @Transactional(readOnly = true)
     public List<CategoryResponse> getSubcategories(String parentPublicId) {
         log.info("Fetching subcategories for parent: {}", parentPublicId);
         
-        // Verify parent exists
-        Category parent = categoryRepository.findByPublicId(parentPublicId)
+        // Parent and children come from the same snapshot
+        CategoryTree.Snapshot tree = categoryTree.current();
+        if (tree.find(parentPublicId).isEmpty()) {
+            throw new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND);
+        }
+        return tree.childrenOf(parentPublicId);
+    }
+    
+    @Override
+    public List<CategoryResponse> getBreadcrumbs(String publicId) {
+        log.info("Fetching breadcrumbs for category: {}", publicId);
+        CategoryTree.Snapshot tree = categoryTree.current();
+        if (tree.find(publicId).isEmpty()) {
+            throw new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND);
+        }
+        return tree.breadcrumbs(publicId);
+    }
+    
+    @Override
+    public CategoryNodeResponse getSubtree(String publicId) {
+        log.info("Fetching subtree of category: {}", publicId);
+        return categoryTree.current().subtree(publicId)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND));
-        
-        // Get children
-        List<Category> children = categoryRepository.findByParent(parent);
-        return children.stream()
-                .map(CategoryResponse::from)
-                .collect(Collectors.toList());
     }
     
     @Override
-    @Transactional(readOnly = true)
     public List<CategoryResponse> getFeaturedCategories() {
         log.info("Fetching all featured categories");
-        List<Category> categories = categoryRepository.findByIsFeaturedTrue();
-        return categories.stream()
-                .map(CategoryResponse::from)
-                .collect(Collectors.toList());
+        return categoryTree.current().featured();
     }
     
     @Override
-    @Transactional
     public CategoryResponse createCategory(CategoryRequest request, MultipartFile imageFile) {
         log.info("Creating new category with name: {}", request.getName());
         
-        // Validate parent if provided
+        // Upload image and its variants to R2 if provided, before taking the hierarchy lock
+        StoredImage image = null;
+        if (imageFile != null && !imageFile.isEmpty()) {
+            image = r2StorageService.uploadImage(imageFile, Constants.R2_FOLDER_CATEGORIES);
+            log.info("Category image uploaded: {}", image.getUrl());
+        }
+        
+        StoredImage uploaded = image;
+        return transactionTemplate.execute(status -> create(request, uploaded));
+    }
+    
+    @Override
+    public CategoryResponse updateCategory(String publicId, CategoryRequest request, MultipartFile imageFile) {
+        log.info("Updating category: {}", publicId);
+        
+        // Upload new image if provided, before taking the hierarchy lock
+        StoredImage newImage = null;
+        if (imageFile != null && !imageFile.isEmpty()) {
+            newImage = r2StorageService.uploadImage(imageFile, Constants.R2_FOLDER_CATEGORIES);
+        }
+        
+        StoredImage uploaded = newImage;
+        return transactionTemplate.execute(status -> update(publicId, request, uploaded));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ImageUploadResponse createImageUpload(String publicId, ImageUploadRequest request) {
+        Category category = categoryRepository.findByPublicId(publicId)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND));
+        
+        return r2StorageService.presignImageUpload(imagePrefix(category),
+                request.getContentType(), request.getContentLength());
+    }
+    
+    @Override
+    public CategoryResponse confirmImageUpload(String publicId, String key) {
+        log.info("Confirming image upload for category: {}", publicId);
+        
+        // Unknown categories get a 404 before R2 is touched
+        Category found = categoryRepository.findByPublicId(publicId)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND));
+        StoredImage image = r2StorageService.confirmImageUpload(imagePrefix(found), key);
+        
+        return transactionTemplate.execute(status -> {
+            Category category = categoryRepository.findByPublicId(publicId)
+                    .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND));
+            
+            // Confirming the same upload twice must not delete the attached image
+            if (!image.getUrl().equals(category.getImageUrl())) {
+                imageReferences.release(category.getImageUrl(), category.getImageVariants());
+                imageReferences.acquire(image);
+                category.setImageUrl(image.getUrl());
+                category.setImageVariants(image.getVariants());
+                category.setImagePlaceholder(image.getPlaceholder());
+                category = categoryRepository.save(category);
+                catalogVersion.bump(CatalogEntity.CATEGORY, publicId);
+                log.info("Category image attached from presigned upload: {}", image.getUrl());
+            }
+            
+            return CategoryResponse.from(category);
+        });
+    }
+    
+    @Override
+    @Transactional
+    public void deleteCategory(String publicId) {
+        log.info("Deleting category: {}", publicId);
+        
+        Category category = categoryRepository.findByPublicId(publicId)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND));
+        
+        // Check if category has children
+        long childrenCount = categoryRepository.countByParent(category);
+        if (childrenCount > 0) {
+            throw new BadRequestException(Constants.ERROR_CATEGORY_HAS_CHILDREN);
+        }
+        
+        // TODO: Check if category has products (implement when Product entity exists)
+        
+        // Release image; it is deleted from R2 once nothing else uses it
+        imageReferences.release(category.getImageUrl(), category.getImageVariants());
+        
+        categoryRepository.delete(category);
+        catalogVersion.bump(CatalogEntity.CATEGORY, publicId);
+        log.info("Category deleted: {}", publicId);
+    }
+    
+    /**
+     * Helper method to insert a category and its closure rows, attaching an already uploaded image
+     */
+    private CategoryResponse create(CategoryRequest request, StoredImage image) {
+        // Validate parent if provided; the hierarchy lock keeps it from moving until we commit
+        categoryHierarchyRepository.lock();
         Category parent = null;
         if (request.getParentId() != null && !request.getParentId().isEmpty()) {
             parent = categoryRepository.findByPublicId(request.getParentId())
@@ -91,43 +205,52 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         // Check sibling name uniqueness
-        validateNameUniqueness(request.getName(), parent);
-        
-        // Upload image to R2 if provided
-        String imageUrl = null;
-        if (imageFile != null && !imageFile.isEmpty()) {
-            imageUrl = r2StorageService.uploadFile(imageFile, Constants.R2_FOLDER_CATEGORIES);
-            log.info("Category image uploaded: {}", imageUrl);
+        validateNameUniqueness(request.getName(), parent, null);
+        if (image != null) {
+            imageReferences.acquire(image);
         }
         
         // Create category
         Category category = Category.builder()
                 .publicId(PublicIdGenerator.generate(Constants.PREFIX_CATEGORY_PUBLIC_ID))
                 .name(request.getName())
-                .imageUrl(imageUrl)
+                .imageUrl(image != null ? image.getUrl() : null)
+                .imageVariants(image != null ? image.getVariants() : null)
+                .imagePlaceholder(image != null ? image.getPlaceholder() : null)
                 .isFeatured(request.getIsFeatured())
                 .parent(parent)
                 .build();
         
-        category = categoryRepository.save(category);
+        category = saveChecked(category);
+        categoryHierarchyRepository.insert(category.getId(), parent != null ? parent.getId() : null);
+        catalogVersion.bump(CatalogEntity.CATEGORY, category.getPublicId());
         log.info("Category created with publicId: {}", category.getPublicId());
         
         return CategoryResponse.from(category);
     }
     
-    @Override
-    @Transactional
-    public CategoryResponse updateCategory(String publicId, CategoryRequest request, MultipartFile imageFile) {
-        log.info("Updating category: {}", publicId);
-        
+    /**
+     * Helper method to apply an update and move the closure rows, attaching an already uploaded image
+     */
+    private CategoryResponse update(String publicId, CategoryRequest request, StoredImage newImage) {
         // Find existing category
         Category category = categoryRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND));
         
+        // A move is known from the requested parent's public ID, so the lock can come before its lookup
+        String newParentId = request.getParentId() != null && !request.getParentId().isEmpty()
+                ? request.getParentId() : null;
+        boolean nameChanged = !category.getName().equals(request.getName());
+        boolean parentChanged = !Objects.equals(
+                category.getParent() != null ? category.getParent().getPublicId() : null, newParentId);
+        if (parentChanged) {
+            categoryHierarchyRepository.lock();
+        }
+        
         // Validate parent if provided
         Category newParent = null;
-        if (request.getParentId() != null && !request.getParentId().isEmpty()) {
-            newParent = categoryRepository.findByPublicId(request.getParentId())
+        if (newParentId != null) {
+            newParent = categoryRepository.findByPublicId(newParentId)
                     .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_INVALID_PARENT_CATEGORY));
             
             // Prevent self-reference
@@ -136,27 +259,25 @@ public class CategoryServiceImpl implements CategoryService {
             }
         }
         
-        // Check name uniqueness if name or parent changed
-        boolean nameChanged = !category.getName().equals(request.getName());
-        boolean parentChanged = (category.getParent() == null && newParent != null) ||
-                                (category.getParent() != null && !category.getParent().equals(newParent));
+        // A category cannot move below itself; checked under the lock so concurrent moves cannot form a loop
+        if (parentChanged && newParent != null
+                && categoryHierarchyRepository.isSelfOrDescendant(category.getId(), newParent.getId())) {
+            throw new BadRequestException(Constants.ERROR_CATEGORY_CYCLE);
+        }
         
+        // Check name uniqueness if name or parent changed
         if (nameChanged || parentChanged) {
             validateNameUniqueness(request.getName(), newParent, category.getId());
         }
         
-        // Upload new image if provided and delete old one
-        if (imageFile != null && !imageFile.isEmpty()) {
-            String oldImageUrl = category.getImageUrl();
-            String newImageUrl = r2StorageService.uploadFile(imageFile, Constants.R2_FOLDER_CATEGORIES);
-            category.setImageUrl(newImageUrl);
-            log.info("Category image updated: {}", newImageUrl);
-            
-            // Delete old image from R2
-            if (oldImageUrl != null && !oldImageUrl.isEmpty()) {
-                r2StorageService.deleteFile(oldImageUrl);
-                log.info("Old category image deleted: {}", oldImageUrl);
-            }
+        // Attach the new image; the old one is released together with the change
+        if (newImage != null) {
+            imageReferences.release(category.getImageUrl(), category.getImageVariants());
+            imageReferences.acquire(newImage);
+            category.setImageUrl(newImage.getUrl());
+            category.setImageVariants(newImage.getVariants());
+            category.setImagePlaceholder(newImage.getPlaceholder());
+            log.info("Category image updated: {}", newImage.getUrl());
         }
         
         // Update fields
@@ -164,69 +285,41 @@ public class CategoryServiceImpl implements CategoryService {
         category.setIsFeatured(request.getIsFeatured());
         category.setParent(newParent);
         
-        category = categoryRepository.save(category);
+        category = saveChecked(category);
+        if (parentChanged) {
+            categoryHierarchyRepository.move(category.getId(), newParent != null ? newParent.getId() : null);
+        }
+        catalogVersion.bump(CatalogEntity.CATEGORY, publicId);
         log.info("Category updated: {}", publicId);
         
         return CategoryResponse.from(category);
     }
     
-    @Override
-    @Transactional
-    public void deleteCategory(String publicId) {
-        log.info("Deleting category: {}", publicId);
-        
-        Category category = categoryRepository.findByPublicId(publicId)
-                .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_CATEGORY_NOT_FOUND));
-        
-        // Check if category has children
-        long childrenCount = categoryRepository.countByParent(category);
-        if (childrenCount > 0) {
-            throw new BadRequestException(Constants.ERROR_CATEGORY_HAS_CHILDREN);
-        }
-        
-        // TODO: Check if category has products (implement when Product entity exists)
-        
-        // Delete image from R2 if exists
-        if (category.getImageUrl() != null && !category.getImageUrl().isEmpty()) {
-            r2StorageService.deleteFile(category.getImageUrl());
-            log.info("Category image deleted from R2: {}", category.getImageUrl());
-        }
-        
-        categoryRepository.delete(category);
-        log.info("Category deleted: {}", publicId);
+    /**
+     * Key prefix that presigned uploads for a category are scoped to
+     */
+    private String imagePrefix(Category category) {
+        return Constants.R2_FOLDER_CATEGORIES + "/" + category.getPublicId();
     }
     
     /**
      * Validate that category name is unique among siblings
-     * Categories with the same parent cannot have duplicate names
+     * Categories with the same parent cannot share a name, ignoring case
      */
-    private void validateNameUniqueness(String name, Category parent) {
-        boolean exists;
-        if (parent == null) {
-            exists = categoryRepository.existsByNameAndParentIsNull(name);
-        } else {
-            exists = categoryRepository.existsByNameAndParent(name, parent);
-        }
-        
-        if (exists) {
+    private void validateNameUniqueness(String name, Category parent, Long excludeCategoryId) {
+        Long parentId = parent != null ? parent.getId() : null;
+        if (categoryRepository.existsSiblingName(name, parentId, excludeCategoryId)) {
             throw new BadRequestException(Constants.ERROR_CATEGORY_NAME_EXISTS);
         }
     }
     
     /**
-     * Validate name uniqueness excluding the current category (for updates)
+     * Save and flush, so a sibling name taken concurrently surfaces as the usual error
      */
-    private void validateNameUniqueness(String name, Category parent, Long excludeCategoryId) {
-        boolean exists;
-        if (parent == null) {
-            exists = categoryRepository.findByParentIsNull().stream()
-                    .anyMatch(c -> c.getName().equals(name) && !c.getId().equals(excludeCategoryId));
-        } else {
-            exists = categoryRepository.findByParent(parent).stream()
-                    .anyMatch(c -> c.getName().equals(name) && !c.getId().equals(excludeCategoryId));
-        }
-        
-        if (exists) {
+    private Category saveChecked(Category category) {
+        try {
+            return categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException e) {
             throw new BadRequestException(Constants.ERROR_CATEGORY_NAME_EXISTS);
         }
     }
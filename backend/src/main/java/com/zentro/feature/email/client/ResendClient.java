@@ -0,0 +1,135 @@
+package com.zentro.feature.email.client;
+
+import com.zentro.feature.email.dispatch.EmailMessage;
+
+import io.netty.channel.ChannelOption;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resend API client sharing one pooled WebClient across all sends
+ */
+@Slf4j
+@Component
+public class ResendClient {
+
+    @Value("${app.email.resend.api-key}")
+    private String apiKey;
+
+    @Value("${app.email.resend.from-email}")
+    private String fromEmail;
+
+    @Value("${app.email.resend.from-name}")
+    private String fromName;
+
+    @Value("${app.email.resend.base-url:https://api.resend.com}")
+    private String baseUrl;
+
+    @Value("${app.email.resend.max-connections:16}")
+    private int maxConnections;
+
+    @Value("${app.email.resend.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${app.email.resend.response-timeout-ms:10000}")
+    private long responseTimeoutMs;
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+    private String from;
+
+    @PostConstruct
+    public void init() {
+        this.connectionProvider = ConnectionProvider.builder("resend")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .pendingAcquireTimeout(Duration.ofMillis(responseTimeoutMs))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .build();
+        this.from = fromName + " <" + fromEmail + ">";
+
+        log.info("Resend client initialized for {} with up to {} connections", baseUrl, maxConnections);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+
+    /**
+     * Send up to 100 emails in one request to the batch endpoint
+     *
+     * @param idempotencyKey Same key for every retry of the batch so Resend never sends it twice
+     */
+    public Mono<Void> sendBatch(List<EmailMessage> batch, String idempotencyKey) {
+        List<Map<String, Object>> body = batch.stream()
+                .map(message -> Map.<String, Object>of(
+                        "from", from,
+                        "to", List.of(message.getTo()),
+                        "subject", message.getSubject(),
+                        "html", message.getHtml()
+                ))
+                .toList();
+
+        return webClient.post()
+                .uri("/emails/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .bodyValue(body)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    /**
+     * Check if a failed send is worth retrying (connection errors, timeouts, 429 and 5xx)
+     */
+    public static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == 429;
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    /**
+     * Check if the provider refused the request itself (4xx other than 429), so resending it unchanged fails again
+     */
+    public static boolean isRejected(Throwable error) {
+        return error instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is4xxClientError()
+                && responseException.getStatusCode().value() != 429;
+    }
+}
@@ -0,0 +1,81 @@
+package com.zentro.feature.email.dispatch;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Email dispatch configuration bound from app.email.dispatch
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.email.dispatch")
+public class EmailDispatchProperties {
+
+    /**
+     * Messages held in memory before new sends are rejected
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Most messages per batch request (Resend allows 100)
+     */
+    private int batchSize = 100;
+
+    /**
+     * How long to wait for more messages before sending a partial batch
+     */
+    private Duration linger = Duration.ofMillis(200);
+
+    /**
+     * Batch requests allowed in flight at once
+     */
+    private int maxInFlight = 4;
+
+    /**
+     * How long a caller waits for queue space before the message is dropped (or left to the spool)
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    private int maxRetries = 5;
+
+    private Duration initialBackoff = Duration.ofMillis(500);
+
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Time allowed to flush the queue on shutdown
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    private Spool spool = new Spool();
+
+    /**
+     * Durable outbox table; messages survive crashes and failed retries
+     */
+    @Data
+    public static class Spool {
+
+        private boolean enabled = false;
+
+        /**
+         * Spooled messages not confirmed sent within this delay are picked up again by the recovery poll
+         */
+        private Duration recoveryDelay = Duration.ofMinutes(5);
+
+        /**
+         * Delivery rounds before a spooled message is marked FAILED
+         */
+        private int maxAttempts = 10;
+
+        /**
+         * How long FAILED messages are kept for inspection before the recovery poll deletes them
+         */
+        private Duration failedRetention = Duration.ofDays(7);
+
+        private int pollBatchSize = 100;
+    }
+}
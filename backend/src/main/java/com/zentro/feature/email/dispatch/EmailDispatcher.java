@@ -0,0 +1,365 @@
+package com.zentro.feature.email.dispatch;
+
+import com.zentro.feature.email.client.ResendClient;
+import com.zentro.feature.email.entity.EmailOutbox;
+import com.zentro.feature.email.repository.EmailOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues outbound email and sends it in batches through the Resend batch API
+ * Callers return immediately; a single dispatcher thread coalesces queued messages into
+ * batches, and failed batches are retried with exponential backoff. A batch the provider
+ * rejects outright is split in half and each half sent on its own, so one bad recipient
+ * fails only its own message. With spooling enabled every message is written to the
+ * email_outbox table first and deleted once accepted, so crashes and exhausted retries
+ * are recovered by a background poll; messages that finally fail have their body cleared
+ * and are purged after the failed retention.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailDispatcher {
+
+    private static final String METRIC_PREFIX = "zentro.email";
+
+    private final ResendClient resendClient;
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailDispatchProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<EmailMessage> queue;
+    private Semaphore inFlight;
+    private Thread dispatcherThread;
+    private volatile boolean running;
+
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Counter droppedCounter;
+    private Counter retryCounter;
+    private Timer requestTimer;
+    private Timer deliveryTimer;
+    private DistributionSummary batchSizeSummary;
+
+    @PostConstruct
+    public void init() {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+
+        this.sentCounter = messageCounter("sent", "Emails accepted by the provider");
+        this.failedCounter = messageCounter("failed", "Emails that failed after all retries");
+        this.droppedCounter = messageCounter("dropped", "Emails rejected because the queue was full");
+        this.retryCounter = Counter.builder(METRIC_PREFIX + ".retries")
+                .description("Batch requests retried after a transient failure")
+                .register(meterRegistry);
+        this.requestTimer = Timer.builder(METRIC_PREFIX + ".request.duration")
+                .description("Time per batch request including retries")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder(METRIC_PREFIX + ".delivery.latency")
+                .description("Time from queueing an email to the provider accepting it")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+                .description("Emails per batch request")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", queue, BlockingQueue::size)
+                .description("Emails waiting to be sent")
+                .register(meterRegistry);
+
+        this.running = true;
+        this.dispatcherThread = new Thread(this::dispatchLoop, "email-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+
+        log.info("Email dispatcher started (queue: {}, batch: {}, spool: {})",
+                properties.getQueueCapacity(), properties.getBatchSize(),
+                properties.getSpool().isEnabled() ? "enabled" : "disabled");
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        dispatcherThread.interrupt();
+        dispatcherThread.join(properties.getShutdownTimeout().toMillis());
+
+        // Flush what is left; spooled messages are recovered on the next start anyway
+        List<EmailMessage> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += properties.getBatchSize()) {
+            List<EmailMessage> batch = remaining.subList(i, Math.min(i + properties.getBatchSize(), remaining.size()));
+            try {
+                resendClient.sendBatch(batch, UUID.randomUUID().toString())
+                        .block(properties.getShutdownTimeout());
+                onSent(batch, System.nanoTime());
+            } catch (RuntimeException e) {
+                onFailed(batch, e);
+            }
+        }
+    }
+
+    /**
+     * Queue an email for delivery, spooling it when the spool is enabled
+     * Inside a transaction the message is only queued after commit, so rolled back work sends nothing.
+     */
+    public void enqueue(String to, String subject, String html) {
+        enqueue(to, subject, html, true);
+    }
+
+    /**
+     * Queue an email that must never be written to the spool, such as one carrying a one-time code
+     * Such codes expire long before the recovery poll would resend them, so durability buys nothing.
+     */
+    public void enqueueUnspooled(String to, String subject, String html) {
+        enqueue(to, subject, html, false);
+    }
+
+    private void enqueue(String to, String subject, String html, boolean spool) {
+        Long outboxId = null;
+        if (spool && properties.getSpool().isEnabled()) {
+            outboxId = outboxRepository.save(EmailOutbox.builder()
+                    .toEmail(to)
+                    .subject(subject)
+                    .html(html)
+                    .nextAttemptAt(LocalDateTime.now().plus(properties.getSpool().getRecoveryDelay()))
+                    .build()).getId();
+        }
+
+        EmailMessage message = EmailMessage.builder()
+                .outboxId(outboxId)
+                .to(to)
+                .subject(subject)
+                .html(html)
+                .enqueuedAtNanos(System.nanoTime())
+                .build();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(message);
+                }
+            });
+        } else {
+            offer(message);
+        }
+    }
+
+    /**
+     * Re-queue spooled messages that were never confirmed sent (crash, full queue, exhausted retries)
+     * and purge messages that failed longer ago than the failed retention
+     */
+    @Scheduled(fixedDelayString = "${app.email.dispatch.spool.poll-interval-ms:30000}")
+    public void recoverSpooled() {
+        if (!properties.getSpool().isEnabled()) {
+            return;
+        }
+
+        int purged = outboxRepository.deleteFailedBefore(
+                LocalDateTime.now().minus(properties.getSpool().getFailedRetention()));
+        if (purged > 0) {
+            log.info("Purged {} failed emails from the spool", purged);
+        }
+
+        List<EmailOutbox> due = transactionTemplate.execute(status -> {
+            List<EmailOutbox> locked = outboxRepository.lockDue(
+                    LocalDateTime.now(), properties.getSpool().getPollBatchSize());
+            if (!locked.isEmpty()) {
+                outboxRepository.claim(
+                        locked.stream().map(EmailOutbox::getId).toList(),
+                        LocalDateTime.now().plus(properties.getSpool().getRecoveryDelay()));
+            }
+            return locked;
+        });
+
+        if (due == null || due.isEmpty()) {
+            return;
+        }
+
+        log.info("Recovering {} spooled emails", due.size());
+        for (EmailOutbox outbox : due) {
+            offer(EmailMessage.builder()
+                    .outboxId(outbox.getId())
+                    .to(outbox.getToEmail())
+                    .subject(outbox.getSubject())
+                    .html(outbox.getHtml())
+                    .enqueuedAtNanos(System.nanoTime())
+                    .build());
+        }
+    }
+
+    private void offer(EmailMessage message) {
+        boolean queued;
+        try {
+            queued = queue.offer(message, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+
+        if (!queued) {
+            droppedCounter.increment();
+            if (message.getOutboxId() != null) {
+                log.warn("Email queue full, leaving email to {} in the spool for recovery", message.getTo());
+            } else {
+                log.error("Email queue full, dropping email to {}", message.getTo());
+            }
+        }
+    }
+
+    /**
+     * Take messages off the queue and send them in batches
+     * Waits up to the linger time for a batch to fill before sending what it has.
+     */
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                EmailMessage first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<EmailMessage> batch = new ArrayList<>(properties.getBatchSize());
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.getLinger().toNanos();
+                while (batch.size() < properties.getBatchSize()) {
+                    EmailMessage next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                inFlight.acquire();
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in email dispatcher", e);
+            }
+        }
+    }
+
+    /**
+     * Send one batch asynchronously
+     */
+    private void send(List<EmailMessage> batch) {
+        batchSizeSummary.record(batch.size());
+        deliver(batch)
+                .doFinally(signal -> inFlight.release())
+                .subscribe();
+    }
+
+    /**
+     * Send a batch, retrying transient failures with exponential backoff
+     * When the provider rejects the batch outright, usually over one bad message, the two halves are
+     * delivered separately until the rejected messages are on their own.
+     */
+    private Mono<Void> deliver(List<EmailMessage> batch) {
+        long start = System.nanoTime();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        return resendClient.sendBatch(batch, idempotencyKey)
+                .retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getInitialBackoff())
+                        .maxBackoff(properties.getMaxBackoff())
+                        .filter(ResendClient::isRetryable)
+                        .doBeforeRetry(signal -> retryCounter.increment())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                // Outbox updates are blocking JDBC calls, keep them off the Netty event loop
+                .publishOn(Schedulers.boundedElastic())
+                .doOnSuccess(ignored -> onSent(batch, start))
+                .onErrorResume(error -> {
+                    if (batch.size() > 1 && ResendClient.isRejected(error)) {
+                        int half = batch.size() / 2;
+                        log.warn("Batch of {} emails rejected ({}), sending each half separately",
+                                batch.size(), error.getMessage());
+                        return Mono.when(deliver(batch.subList(0, half)), deliver(batch.subList(half, batch.size())));
+                    }
+                    onFailed(batch, error);
+                    return Mono.empty();
+                });
+    }
+
+    private void onSent(List<EmailMessage> batch, long requestStart) {
+        long now = System.nanoTime();
+        requestTimer.record(now - requestStart, TimeUnit.NANOSECONDS);
+        for (EmailMessage message : batch) {
+            deliveryTimer.record(now - message.getEnqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        }
+        sentCounter.increment(batch.size());
+        log.debug("Sent batch of {} emails", batch.size());
+
+        List<Long> outboxIds = outboxIds(batch);
+        if (!outboxIds.isEmpty()) {
+            try {
+                outboxRepository.deleteSent(outboxIds);
+            } catch (RuntimeException e) {
+                // Rows left behind are sent again by the recovery poll
+                log.error("Failed to delete {} sent emails from the spool", outboxIds.size(), e);
+            }
+        }
+    }
+
+    private void onFailed(List<EmailMessage> batch, Throwable error) {
+        failedCounter.increment(batch.size());
+        log.error("Failed to send batch of {} emails: {}", batch.size(), error.getMessage());
+
+        List<Long> outboxIds = outboxIds(batch);
+        if (!outboxIds.isEmpty()) {
+            String message = Objects.toString(error.getMessage(), error.getClass().getSimpleName());
+            try {
+                outboxRepository.recordFailure(
+                        outboxIds,
+                        LocalDateTime.now().plus(properties.getSpool().getRecoveryDelay()),
+                        message.length() > 500 ? message.substring(0, 500) : message,
+                        properties.getSpool().getMaxAttempts());
+            } catch (RuntimeException e) {
+                log.error("Failed to record failure for {} spooled emails", outboxIds.size(), e);
+            }
+        }
+    }
+
+    private Counter messageCounter(String outcome, String description) {
+        return Counter.builder(METRIC_PREFIX + ".messages")
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private static List<Long> outboxIds(List<EmailMessage> batch) {
+        return batch.stream()
+                .map(EmailMessage::getOutboxId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,26 @@
+package com.zentro.feature.email.dispatch;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A single outbound email waiting in the dispatch queue
+ */
+@Value
+@Builder
+public class EmailMessage {
+
+    /**
+     * ID of the spooled outbox row, or null when spooling is disabled
+     */
+    Long outboxId;
+
+    String to;
+    String subject;
+    String html;
+
+    /**
+     * System.nanoTime() when the message was queued, for delivery latency
+     */
+    long enqueuedAtNanos;
+}
@@ -0,0 +1,63 @@
+package com.zentro.feature.email.repository;
+
+import com.zentro.feature.email.entity.EmailOutbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for EmailOutbox entity
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Lock pending messages that are due, skipping rows another node already holds
+     */
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> lockDue(LocalDateTime now, int limit);
+
+    /**
+     * Push back the next attempt so the recovery poll leaves in-flight messages alone
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.nextAttemptAt = :nextAttemptAt WHERE e.id IN :ids")
+    int claim(List<Long> ids, LocalDateTime nextAttemptAt);
+
+    /**
+     * Record a failed delivery round, marking messages FAILED once they run out of attempts
+     * FAILED messages keep only their envelope; the body is cleared since it will never be sent.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :error, " +
+            "e.html = CASE WHEN e.attempts + 1 >= :maxAttempts THEN '' ELSE e.html END, " +
+            "e.status = CASE WHEN e.attempts + 1 >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END " +
+            "WHERE e.id IN :ids")
+    int recordFailure(List<Long> ids, LocalDateTime nextAttemptAt, String error, int maxAttempts);
+
+    /**
+     * Delete messages the provider accepted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutbox e WHERE e.id IN :ids")
+    int deleteSent(List<Long> ids);
+
+    /**
+     * Delete FAILED messages whose last attempt was scheduled before the cutoff
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = 'FAILED' AND e.nextAttemptAt < :cutoff")
+    int deleteFailedBefore(LocalDateTime cutoff);
+}
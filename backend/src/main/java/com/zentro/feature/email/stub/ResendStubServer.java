@@ -0,0 +1,154 @@
+package com.zentro.feature.email.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Resend API, for running and benchmarking email delivery offline
+ * Accepts POST /emails and /emails/batch, answers like Resend, and can inject latency and
+ * 503/429 failures to exercise retries. Requests addressed to any recipient under the reserved
+ * .invalid domain are refused with 422, as Resend refuses invalid recipients. Point app.email.resend.base-url at it.
+ * Runs inside the app when app.email.resend.stub.enabled=true, or standalone via main.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.email.resend.stub.enabled", havingValue = "true")
+public class ResendStubServer {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.email.resend.stub.port:8025}")
+    private int port;
+
+    @Value("${app.email.resend.stub.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${app.email.resend.stub.failure-rate:0}")
+    private double failureRate;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong emails = new AtomicLong();
+
+    private HttpServer server;
+
+    /**
+     * Run the stub on its own: java ... ResendStubServer [port] [latencyMs] [failureRate]
+     */
+    public static void main(String[] args) throws IOException {
+        ResendStubServer stub = new ResendStubServer(new ObjectMapper());
+        stub.port = args.length > 0 ? Integer.parseInt(args[0]) : 8025;
+        stub.latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        stub.failureRate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+        stub.start();
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/emails", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        log.info("Resend stub listening on http://localhost:{} (latency: {} ms, failure rate: {})",
+                port, latencyMs, failureRate);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            log.info("Resend stub stopped after {} requests ({} emails)", requests.get(), emails.get());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"message\":\"Method not allowed\"}");
+                return;
+            }
+
+            JsonNode body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = objectMapper.readTree(in);
+            }
+
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+
+            if (hasInvalidRecipient(body)) {
+                respond(exchange, 422, "{\"name\":\"validation_error\",\"message\":\"Invalid `to` field\"}");
+                return;
+            }
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < failureRate / 2) {
+                respond(exchange, 429, "{\"message\":\"Too many requests\"}");
+                return;
+            }
+            if (roll < failureRate) {
+                respond(exchange, 503, "{\"message\":\"Service unavailable\"}");
+                return;
+            }
+
+            boolean batch = exchange.getRequestURI().getPath().endsWith("/batch");
+            int count = batch && body.isArray() ? body.size() : 1;
+            requests.incrementAndGet();
+            long first = emails.getAndAdd(count);
+
+            StringBuilder ids = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                ids.append(i == 0 ? "" : ",").append("{\"id\":\"stub-").append(first + i).append("\"}");
+            }
+            respond(exchange, 200, batch ? "{\"data\":[" + ids + "]}" : ids.toString());
+            log.debug("Stub accepted {} emails", count);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean hasInvalidRecipient(JsonNode body) {
+        for (JsonNode email : body.isArray() ? body : List.of(body)) {
+            for (JsonNode to : email.path("to")) {
+                if (to.asText().endsWith(".invalid")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.zentro.feature.email.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An email template parsed once into literal segments and named {{slot}} markers
+ * Markup is minified at parse time; rendering only appends literals and escaped values.
+ */
+public final class EmailTemplate {
+
+    private static final Pattern SLOT = Pattern.compile("\\{\\{\\s*([a-zA-Z0-9_]+)\\s*}}");
+    private static final Pattern WHITESPACE_BETWEEN_TAGS = Pattern.compile(">\\s+<");
+    private static final Pattern WHITESPACE_RUN = Pattern.compile("\\s+");
+
+    private final String name;
+
+    // literals.length == slots.length + 1; output is literals[0] slot[0] literals[1] ... literals[n]
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+
+    private EmailTemplate(String name, String[] literals, String[] slots) {
+        this.name = name;
+        this.literals = literals;
+        this.slots = slots;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Minify and parse template source
+     */
+    public static EmailTemplate compile(String name, String source) {
+        String minified = minify(source);
+
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        Matcher matcher = SLOT.matcher(minified);
+        int position = 0;
+        while (matcher.find()) {
+            literals.add(minified.substring(position, matcher.start()));
+            slots.add(matcher.group(1));
+            position = matcher.end();
+        }
+        literals.add(minified.substring(position));
+
+        return new EmailTemplate(name, literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    /**
+     * Append the rendered template to a buffer, HTML-escaping every value
+     * Missing values render as empty.
+     */
+    public void renderTo(StringBuilder out, Map<String, String> values) {
+        out.ensureCapacity(out.length() + literalLength + 64);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            appendEscaped(out, values.get(slots[i]));
+        }
+        out.append(literals[slots.length]);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Size of the literal markup, used to size render buffers
+     */
+    public int getLiteralLength() {
+        return literalLength;
+    }
+
+    /**
+     * Collapse whitespace runs and drop whitespace between tags
+     * Email templates contain no pre or textarea blocks, so this never changes rendered text.
+     */
+    static String minify(String source) {
+        String collapsed = WHITESPACE_RUN.matcher(source.strip()).replaceAll(" ");
+        return WHITESPACE_BETWEEN_TAGS.matcher(collapsed).replaceAll("><");
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.zentro.feature.email.template;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads and renders email templates
+ * Templates are compiled once at startup (and again only when their file changes), and
+ * rendered into a per-thread reusable buffer so a send allocates little beyond the result.
+ * Point app.email.templates.location at a file: directory and enable reload to edit live.
+ */
+@Slf4j
+@Component
+public class EmailTemplateEngine {
+
+    private static final String TEMPLATE_SUFFIX = ".html";
+
+    // Buffers that grew past this are dropped rather than kept per thread
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private final Map<String, LoadedTemplate> templates = new ConcurrentHashMap<>();
+
+    @Value("${app.email.templates.location:classpath:templates/email/}")
+    private String location;
+
+    @Value("${app.email.templates.reload:false}")
+    private boolean reload;
+
+    @PostConstruct
+    public void init() throws IOException {
+        for (Resource resource : resourceResolver.getResources(location + "*" + TEMPLATE_SUFFIX)) {
+            load(resource);
+        }
+        log.info("Loaded {} email templates from {} (reload: {})", templates.size(), location, reload);
+    }
+
+    /**
+     * Render a template by name (file name without .html)
+     */
+    public String render(String name, Map<String, String> values) {
+        LoadedTemplate loaded = templates.get(name);
+        if (loaded == null) {
+            throw new IllegalStateException("Email template not found: " + name);
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        loaded.template().renderTo(buffer, values);
+        String html = buffer.toString();
+
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return html;
+    }
+
+    /**
+     * Recompile templates whose files changed since they were loaded
+     */
+    @Scheduled(fixedDelayString = "${app.email.templates.reload-interval-ms:2000}")
+    public void reloadChanged() {
+        if (!reload) {
+            return;
+        }
+
+        try {
+            for (Resource resource : resourceResolver.getResources(location + "*" + TEMPLATE_SUFFIX)) {
+                LoadedTemplate current = templates.get(templateName(resource));
+                if (current == null || resource.lastModified() != current.lastModified()) {
+                    load(resource);
+                    log.info("Reloaded email template {}", templateName(resource));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to check email templates for changes: {}", e.getMessage());
+        }
+    }
+
+    private void load(Resource resource) throws IOException {
+        String name = templateName(resource);
+        String source = resource.getContentAsString(StandardCharsets.UTF_8);
+        long lastModified = reload ? resource.lastModified() : 0;
+        templates.put(name, new LoadedTemplate(EmailTemplate.compile(name, source), lastModified));
+    }
+
+    private static String templateName(Resource resource) {
+        String filename = resource.getFilename();
+        return filename.substring(0, filename.length() - TEMPLATE_SUFFIX.length());
+    }
+
+    private record LoadedTemplate(EmailTemplate template, long lastModified) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.zentro.feature.maintenance.controller;
+
+import com.zentro.common.dto.ApiResponse;
+import com.zentro.common.maintenance.MaintenanceJobRunner;
+import com.zentro.common.util.Constants;
+import com.zentro.feature.maintenance.dto.MaintenanceJobResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Admin REST controller for background maintenance jobs
+ * All endpoints require ADMIN role
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/maintenance/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminMaintenanceController {
+
+    private final MaintenanceJobRunner maintenanceJobRunner;
+
+    /**
+     * List jobs with their latest run state
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<MaintenanceJobResponse>>> getJobs() {
+        List<MaintenanceJobResponse> jobs = maintenanceJobRunner.getStates().stream()
+                .map(MaintenanceJobResponse::from)
+                .toList();
+        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_MAINTENANCE_JOBS_RETRIEVED, jobs));
+    }
+
+    /**
+     * Start a job now; it runs in the background and is skipped if another node is running it
+     */
+    @PostMapping("/{name}/run")
+    public ResponseEntity<ApiResponse<Void>> runJob(@PathVariable String name) {
+        log.info("POST /api/v1/admin/maintenance/jobs/{}/run - Trigger maintenance job", name);
+        maintenanceJobRunner.trigger(name);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(Constants.SUCCESS_MAINTENANCE_JOB_TRIGGERED));
+    }
+}
@@ -0,0 +1,43 @@
+package com.zentro.feature.maintenance.dto;
+
+import com.zentro.common.maintenance.MaintenanceJobState;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a maintenance job's latest run
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceJobResponse {
+
+    private String name;
+    private String status; // null if the job has never run
+    private String checkpoint;
+    private Long rowsProcessed;
+    private LocalDateTime lastStartedAt;
+    private LocalDateTime lastFinishedAt;
+    private String lastError;
+
+    /**
+     * Convert persisted job state to response DTO
+     */
+    public static MaintenanceJobResponse from(MaintenanceJobState state) {
+        return MaintenanceJobResponse.builder()
+                .name(state.getName())
+                .status(state.getStatus() != null ? state.getStatus().name() : null)
+                .checkpoint(state.getCheckpoint())
+                .rowsProcessed(state.getRowsProcessed())
+                .lastStartedAt(state.getLastStartedAt())
+                .lastFinishedAt(state.getLastFinishedAt())
+                .lastError(state.getLastError())
+                .build();
+    }
+}
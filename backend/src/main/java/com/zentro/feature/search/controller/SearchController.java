@@ -0,0 +1,40 @@
+package com.zentro.feature.search.controller;
+
+import com.zentro.common.dto.ApiResponse;
+import com.zentro.common.util.Constants;
+import com.zentro.feature.search.dto.SuggestionResponse;
+import com.zentro.feature.search.service.SearchService;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Public REST controller for catalog search
+ */
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * GET /api/v1/search/suggest?q=&limit=
+     * Typeahead suggestions over brand and category names
+     * Public endpoint - no authentication required
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        List<SuggestionResponse> suggestions = searchService.suggest(query, limit);
+        return ResponseEntity.ok(ApiResponse.success(Constants.SUCCESS_SUGGESTIONS_RETRIEVED, suggestions));
+    }
+}
@@ -0,0 +1,20 @@
+package com.zentro.feature.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one typeahead suggestion
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionResponse {
+
+    private SuggestionType type;
+    private String id; // publicId
+    private String name;
+}
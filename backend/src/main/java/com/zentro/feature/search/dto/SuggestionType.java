@@ -0,0 +1,9 @@
+package com.zentro.feature.search.dto;
+
+/**
+ * Kind of catalog entry a suggestion points to
+ */
+public enum SuggestionType {
+    BRAND,
+    CATEGORY
+}
@@ -0,0 +1,338 @@
+package com.zentro.feature.search.index;
+
+import com.zentro.common.catalog.CatalogChanges;
+import com.zentro.common.catalog.CatalogVersion;
+import com.zentro.common.datasource.PrimaryReads;
+import com.zentro.common.util.ThreadFactories;
+import com.zentro.feature.category.index.CategoryTree;
+import com.zentro.feature.search.dto.SuggestionResponse;
+import com.zentro.feature.search.dto.SuggestionType;
+import com.zentro.feature.search.repository.SuggestionSourceRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-memory typeahead index over brand and category names
+ * Brands and categories are indexed in separate immutable segments. When the catalog version
+ * moves, whether the write was made on this node or another, only the brands and categories
+ * named in the change log are applied: written brands are reloaded by ID into a small overlay
+ * segment and their entries in the base segment are hidden, so a rename or delete costs a lookup
+ * and an overlay rebuild rather than a reload of every brand. Once enough brands are hidden, a
+ * background compaction folds the overlay into a new base segment. Category names come from the
+ * category tree snapshot, which is rebuilt first, and brand-only changes leave them alone. Each
+ * change swaps in a whole new snapshot, so queries never see a half-built index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestionIndex {
+
+    private static final String METRIC_PREFIX = "zentro.search.suggest";
+
+    private final SuggestionSourceRepository sourceRepository;
+    private final CategoryTree categoryTree;
+    private final CatalogVersion catalogVersion;
+    private final MeterRegistry meterRegistry;
+
+    // Updates read brands from the database; a ReentrantLock lets waiting virtual threads unmount
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    @Value("${app.search.suggest.compaction-threshold:1000}")
+    private int compactionThreshold;
+
+    private volatile Snapshot snapshot;
+    private ExecutorService compactor;
+
+    private Timer queryTimer;
+    private Timer rebuildTimer;
+    private Timer compactionTimer;
+
+    @PostConstruct
+    public void init() {
+        // Registered after the category tree's listener, since the tree is initialized before it is injected here
+        catalogVersion.onChange(this::apply);
+        // Compaction only builds a segment in memory, so it keeps a platform thread
+        this.compactor = Executors.newSingleThreadExecutor(ThreadFactories.blocking("suggest-compaction", false));
+
+        this.queryTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Time to answer one typeahead query from the index")
+                .serviceLevelObjectives(Duration.ofMillis(1))
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder(METRIC_PREFIX + ".index.rebuild.duration")
+                .description("Time to apply one catalog change to the index")
+                .register(meterRegistry);
+        this.compactionTimer = Timer.builder(METRIC_PREFIX + ".index.compaction.duration")
+                .description("Time to fold the brand overlay into a new base segment")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".index.size", this, index -> index.gaugeValue(Snapshot::size))
+                .description("Names held in the typeahead index")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".index.overlay.size", this, index -> index.gaugeValue(current -> current.hidden().size()))
+                .description("Brands written since the base segment was built")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".index.memory", this, index -> index.gaugeValue(Snapshot::estimatedBytes))
+                .description("Approximate heap held by the typeahead index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    /**
+     * Best-ranked names matching a query
+     *
+     * @param query Raw query text; case, accents and punctuation are ignored
+     * @param limit Maximum number of suggestions
+     */
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        long start = System.nanoTime();
+        List<SuggestionResponse> results = current().suggest(query, limit);
+        queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return results;
+    }
+
+    /**
+     * The current index, loaded on first use
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = reload(null);
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply the brands and categories written since the last catalog version
+     * Updates run one at a time, so each builds on the snapshot the last one left in place.
+     */
+    private void apply(CatalogChanges changes) {
+        Snapshot updated;
+        lock.lock();
+        try {
+            Snapshot previous = snapshot;
+            if (previous == null) {
+                // Nothing has been served yet; the first query loads the catalog as it is then
+                return;
+            }
+
+            long start = System.nanoTime();
+            if (!changes.complete()) {
+                updated = reload(previous);
+            } else {
+                updated = previous;
+                if (!changes.brandIds().isEmpty()) {
+                    updated = withBrands(updated, changes.brandIds());
+                }
+                if (!changes.categoryIds().isEmpty()) {
+                    updated = updated.withCategories(segment(updated.categories(), categories()));
+                }
+            }
+            snapshot = updated;
+
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.debug("Typeahead index applied {} brand and {} category changes in {} ms ({} brands in the overlay)",
+                    changes.complete() ? changes.brandIds().size() : "all",
+                    changes.complete() ? changes.categoryIds().size() : "all",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), updated.hidden().size());
+        } finally {
+            lock.unlock();
+        }
+
+        if (updated.hidden().size() >= compactionThreshold && compacting.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Load every name and build a snapshot with no overlay, reusing segments whose names did not change
+     */
+    private Snapshot reload(Snapshot previous) {
+        // Read from the primary so a lagging replica cannot leave the index behind the catalog version
+        List<SuggestionSource> brands;
+        try (PrimaryReads.Scope ignored = PrimaryReads.open()) {
+            brands = sourceRepository.findBrands();
+        }
+        return new Snapshot(
+                segment(previous != null ? previous.brands() : null, brands),
+                segment(previous != null ? previous.categories() : null, categories()));
+    }
+
+    /**
+     * Hide the base entries of the written brands and put their current names in the overlay
+     * Brands that no longer exist are only hidden.
+     */
+    private Snapshot withBrands(Snapshot previous, Set<String> brandIds) {
+        List<SuggestionSource> written;
+        try (PrimaryReads.Scope ignored = PrimaryReads.open()) {
+            written = sourceRepository.findBrands(brandIds);
+        }
+
+        Set<String> hidden = new HashSet<>(previous.hidden());
+        hidden.addAll(brandIds);
+        Map<String, SuggestionSource> overlaid = new HashMap<>(previous.overlaid());
+        overlaid.keySet().removeAll(brandIds);
+        for (SuggestionSource brand : written) {
+            overlaid.put(brand.id(), brand);
+        }
+        return previous.withOverlay(hidden, overlaid);
+    }
+
+    /**
+     * Build a base segment with the overlay folded in, off the catalog refresh thread
+     * Brands written while it was building stay in the overlay. If a full reload replaced the base
+     * in the meantime, the result is dropped.
+     */
+    private void compact() {
+        try {
+            long start = System.nanoTime();
+            Snapshot from = snapshot;
+            List<SuggestionSource> merged = new ArrayList<>(from.brands().size() + from.overlaid().size());
+            for (SuggestionSource brand : from.brands().sources()) {
+                if (!from.hidden().contains(brand.id())) {
+                    merged.add(brand);
+                }
+            }
+            merged.addAll(from.overlaid().values());
+            SuggestionSegment base = segment(null, merged);
+
+            lock.lock();
+            try {
+                Snapshot current = snapshot;
+                if (current.brands() != from.brands()) {
+                    return;
+                }
+                Set<String> hidden = new HashSet<>();
+                Map<String, SuggestionSource> overlaid = new HashMap<>();
+                for (String id : current.hidden()) {
+                    SuggestionSource brand = current.overlaid().get(id);
+                    if (!from.hidden().contains(id) || !Objects.equals(brand, from.overlaid().get(id))) {
+                        hidden.add(id);
+                        if (brand != null) {
+                            overlaid.put(id, brand);
+                        }
+                    }
+                }
+                snapshot = new Snapshot(base, Set.of(), Map.of(), SuggestionSegment.EMPTY, current.categories())
+                        .withOverlay(hidden, overlaid);
+            } finally {
+                lock.unlock();
+            }
+
+            long elapsed = System.nanoTime() - start;
+            compactionTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.debug("Typeahead index compacted {} brands in {} ms", base.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } catch (RuntimeException e) {
+            log.error("Failed to compact the typeahead index", e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private List<SuggestionSource> categories() {
+        return categoryTree.current().byId().values().stream()
+                .map(category -> new SuggestionSource(SuggestionType.CATEGORY, category.getId(), category.getName(),
+                        Boolean.TRUE.equals(category.getIsFeatured())))
+                .toList();
+    }
+
+    private static SuggestionSegment segment(SuggestionSegment previous, List<SuggestionSource> sources) {
+        if (previous != null && previous.sources().equals(sources)) {
+            return previous;
+        }
+        return sources.isEmpty() ? SuggestionSegment.EMPTY : SuggestionSegment.build(sources);
+    }
+
+    private double gaugeValue(ToLongFunction<Snapshot> value) {
+        Snapshot current = snapshot;
+        return current != null ? value.applyAsLong(current) : 0;
+    }
+
+    /**
+     * One immutable version of the index
+     * Base brand entries whose IDs are hidden were written since the base was built; the brands
+     * that still exist are indexed again, with their current names, in the overlay.
+     */
+    record Snapshot(SuggestionSegment brands, Set<String> hidden, Map<String, SuggestionSource> overlaid,
+                    SuggestionSegment overlay, SuggestionSegment categories) {
+
+        Snapshot(SuggestionSegment brands, SuggestionSegment categories) {
+            this(brands, Set.of(), Map.of(), SuggestionSegment.EMPTY, categories);
+        }
+
+        Snapshot withOverlay(Set<String> hidden, Map<String, SuggestionSource> overlaid) {
+            return new Snapshot(brands, Set.copyOf(hidden), Map.copyOf(overlaid),
+                    segment(null, List.copyOf(overlaid.values())), categories);
+        }
+
+        Snapshot withCategories(SuggestionSegment categories) {
+            return new Snapshot(brands, hidden, overlaid, overlay, categories);
+        }
+
+        List<SuggestionResponse> suggest(String query, int limit) {
+            String normalized = SuggestionSegment.normalize(query);
+            if (normalized.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+
+            TopSuggestions top = new TopSuggestions(limit);
+            brands.collectWordMatches(normalized, hidden, top);
+            overlay.collectWordMatches(normalized, Set.of(), top);
+            categories.collectWordMatches(normalized, Set.of(), top);
+            // Matches inside words rank last, so they are only looked for while there is room
+            if (normalized.length() >= 3 && top.accepts(TopSuggestions.INFIX)) {
+                brands.collectInfixMatches(normalized, hidden, top);
+                overlay.collectInfixMatches(normalized, Set.of(), top);
+                categories.collectInfixMatches(normalized, Set.of(), top);
+            }
+            return top.results();
+        }
+
+        long size() {
+            return brands.size() + overlay.size() + categories.size();
+        }
+
+        long estimatedBytes() {
+            return brands.estimatedBytes() + overlay.estimatedBytes() + categories.estimatedBytes();
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.zentro.feature.search.index;
+
+import com.zentro.feature.search.dto.SuggestionResponse;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable suggestion index over the names of one source, such as all brands
+ * Names are normalized to lowercase letters and digits separated by single spaces, and entries are
+ * numbered in rank order (featured first, then shorter names, then alphabetically) so ties are
+ * settled by comparing numbers. Words are kept sorted with their postings laid out in one array,
+ * so the postings of every word a query prefixes are one contiguous slice. Each three-character
+ * window points to the entries that contain it, so matches inside words are found by scanning a
+ * single posting list, best-ranked first.
+ */
+final class SuggestionSegment {
+
+    static final SuggestionSegment EMPTY = build(List.of());
+
+    private final List<SuggestionSource> sources;
+    private final SuggestionResponse[] responses;
+    private final String[] normalized;
+    private final int[] lengths;
+    private final boolean[] featured;
+
+    // Sorted distinct words; postings of words[w] are wordPostings[wordStarts[w] .. wordStarts[w + 1]),
+    // each entry << 1 with the low bit set unless the word starts the name
+    private final String[] words;
+    private final int[] wordStarts;
+    private final int[] wordPostings;
+
+    private final Map<Long, int[]> trigramEntries;
+    private final long estimatedBytes;
+
+    private SuggestionSegment(List<SuggestionSource> sources, SuggestionResponse[] responses, String[] normalized,
+                              int[] lengths, boolean[] featured, String[] words, int[] wordStarts, int[] wordPostings,
+                              Map<Long, int[]> trigramEntries, long estimatedBytes) {
+        this.sources = sources;
+        this.responses = responses;
+        this.normalized = normalized;
+        this.lengths = lengths;
+        this.featured = featured;
+        this.words = words;
+        this.wordStarts = wordStarts;
+        this.wordPostings = wordPostings;
+        this.trigramEntries = trigramEntries;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Index a list of names
+     */
+    static SuggestionSegment build(List<SuggestionSource> sources) {
+        int size = sources.size();
+        String[] texts = new String[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            texts[i] = normalize(sources.get(i).name());
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer, Boolean>comparing(i -> !sources.get(i).featured())
+                .thenComparingInt(i -> texts[i].length())
+                .thenComparing(i -> texts[i])
+                .thenComparing(i -> sources.get(i).id()));
+
+        SuggestionResponse[] responses = new SuggestionResponse[size];
+        String[] normalized = new String[size];
+        int[] lengths = new int[size];
+        boolean[] featured = new boolean[size];
+        Map<String, IntList> wordLists = new HashMap<>();
+        Map<Long, IntList> trigramLists = new HashMap<>();
+        long estimatedBytes = 68L * size;
+
+        for (int entry = 0; entry < size; entry++) {
+            SuggestionSource source = sources.get(order[entry]);
+            String text = texts[order[entry]];
+            responses[entry] = new SuggestionResponse(source.type(), source.id(), source.name());
+            normalized[entry] = text;
+            lengths[entry] = text.length();
+            featured[entry] = source.featured();
+            estimatedBytes += 80 + stringBytes(source.id()) + stringBytes(source.name()) + stringBytes(text);
+
+            int start = 0;
+            while (start < text.length()) {
+                int end = text.indexOf(' ', start);
+                if (end < 0) {
+                    end = text.length();
+                }
+                wordLists.computeIfAbsent(text.substring(start, end), word -> new IntList())
+                        .add(entry << 1 | (start == 0 ? 0 : 1));
+                start = end + 1;
+            }
+
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                IntList list = trigramLists.computeIfAbsent(trigram(text, i), key -> new IntList());
+                // Entries are added in order, so a repeated trigram can only repeat the last one
+                if (list.size == 0 || list.values[list.size - 1] != entry) {
+                    list.add(entry);
+                }
+            }
+        }
+
+        String[] words = wordLists.keySet().toArray(new String[0]);
+        Arrays.sort(words);
+        int[] wordStarts = new int[words.length + 1];
+        IntList wordPostings = new IntList();
+        for (int w = 0; w < words.length; w++) {
+            wordStarts[w] = wordPostings.size;
+            wordPostings.addAll(wordLists.get(words[w]));
+            estimatedBytes += 12 + stringBytes(words[w]);
+        }
+        wordStarts[words.length] = wordPostings.size;
+        estimatedBytes += 4L * wordPostings.size;
+
+        Map<Long, int[]> trigramEntries = new HashMap<>(trigramLists.size() * 2);
+        for (Map.Entry<Long, IntList> list : trigramLists.entrySet()) {
+            int[] entries = list.getValue().toArray();
+            trigramEntries.put(list.getKey(), entries);
+            estimatedBytes += 72 + 4L * entries.length;
+        }
+
+        return new SuggestionSegment(List.copyOf(sources), responses, normalized, lengths, featured, words, wordStarts,
+                wordPostings.toArray(), trigramEntries, estimatedBytes);
+    }
+
+    /**
+     * Offer every entry with a word starting with the query
+     *
+     * @param query Normalized query
+     * @param hidden IDs of entries to leave out
+     */
+    void collectWordMatches(String query, Set<String> hidden, TopSuggestions top) {
+        int space = query.indexOf(' ');
+        String first = space < 0 ? query : query.substring(0, space);
+        String wordStart = " " + query;
+
+        int from = wordStarts[lowerBound(first)];
+        int to = wordStarts[lowerBound(first + Character.MAX_VALUE)];
+        for (int i = from; i < to; i++) {
+            int entry = wordPostings[i] >>> 1;
+            boolean atStart = (wordPostings[i] & 1) == 0;
+            if (!top.accepts(atStart ? TopSuggestions.EXACT : TopSuggestions.WORD, this, entry)
+                    || isHidden(entry, hidden)) {
+                continue;
+            }
+            int kind;
+            if (space < 0) {
+                // A single word is fully matched by the word it prefixes
+                kind = atStart ? startKind(entry, query) : TopSuggestions.WORD;
+            } else if (atStart && normalized[entry].startsWith(query)) {
+                kind = startKind(entry, query);
+            } else if (!atStart && normalized[entry].contains(wordStart)) {
+                kind = TopSuggestions.WORD;
+            } else {
+                continue;
+            }
+            top.offer(kind, this, entry);
+        }
+    }
+
+    /**
+     * Offer every entry containing the query somewhere other than at a word start
+     * Word matches are left to {@link #collectWordMatches}.
+     *
+     * @param query Normalized query of at least three characters
+     * @param hidden IDs of entries to leave out
+     */
+    void collectInfixMatches(String query, Set<String> hidden, TopSuggestions top) {
+        int[] candidates = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            int[] entries = trigramEntries.get(trigram(query, i));
+            if (entries == null) {
+                return;
+            }
+            if (candidates == null || entries.length < candidates.length) {
+                candidates = entries;
+            }
+        }
+        if (candidates == null) {
+            return;
+        }
+
+        String wordStart = " " + query;
+        for (int entry : candidates) {
+            // Candidates come best-ranked first, so once one cannot make the list none after it can
+            if (!top.accepts(TopSuggestions.INFIX, this, entry)) {
+                return;
+            }
+            if (isHidden(entry, hidden)) {
+                continue;
+            }
+            String text = normalized[entry];
+            int at = text.indexOf(query);
+            // Names with the query at the start or after a space were offered as word matches
+            if (at > 0 && text.charAt(at - 1) != ' ' && !text.contains(wordStart)) {
+                top.offer(TopSuggestions.INFIX, this, entry);
+            }
+        }
+    }
+
+    private boolean isHidden(int entry, Set<String> hidden) {
+        return !hidden.isEmpty() && hidden.contains(responses[entry].getId());
+    }
+
+    private int startKind(int entry, String query) {
+        return lengths[entry] == query.length() ? TopSuggestions.EXACT : TopSuggestions.PREFIX;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    List<SuggestionSource> sources() {
+        return sources;
+    }
+
+    SuggestionResponse response(int entry) {
+        return responses[entry];
+    }
+
+    String normalized(int entry) {
+        return normalized[entry];
+    }
+
+    int length(int entry) {
+        return lengths[entry];
+    }
+
+    boolean featured(int entry) {
+        return featured[entry];
+    }
+
+    int size() {
+        return responses.length;
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Lowercase letters and digits with accents removed, other characters collapsed into single spaces
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = text;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+                break;
+            }
+        }
+
+        StringBuilder out = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && out.length() > 0) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                out.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    private static long trigram(String text, int at) {
+        return (long) text.charAt(at) << 32 | (long) text.charAt(at + 1) << 16 | text.charAt(at + 2);
+    }
+
+    private static long stringBytes(String value) {
+        return value != null ? 40 + value.length() : 0;
+    }
+
+    /**
+     * Growable int array used while building postings
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.zentro.feature.search.index;
+
+import com.zentro.feature.search.dto.SuggestionType;
+
+/**
+ * One name a suggestion can be made for, as loaded from its source
+ */
+public record SuggestionSource(SuggestionType type, String id, String name, boolean featured) {
+}
@@ -0,0 +1,117 @@
+package com.zentro.feature.search.index;
+
+import com.zentro.feature.search.dto.SuggestionResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The best few matches of one query, kept sorted as they are offered
+ * Matches rank by how the query matched (whole name, start of the name, start of a later word,
+ * inside a word), then featured first, then shorter names, then alphabetically, then by ID.
+ * Segments number their entries in that order, so within a segment the entry number decides.
+ * Limits are small, so a sorted array beats a heap and an entry offered twice is found by a
+ * linear scan.
+ */
+final class TopSuggestions {
+
+    static final int EXACT = 0;
+    static final int PREFIX = 1;
+    static final int WORD = 2;
+    static final int INFIX = 3;
+
+    private final int limit;
+    private final int[] kinds;
+    private final SuggestionSegment[] segments;
+    private final int[] entries;
+    private int size;
+
+    TopSuggestions(int limit) {
+        this.limit = limit;
+        this.kinds = new int[limit];
+        this.segments = new SuggestionSegment[limit];
+        this.entries = new int[limit];
+    }
+
+    /**
+     * Whether a match of this kind could still make the list
+     */
+    boolean accepts(int kind) {
+        return size < limit || kind < kinds[size - 1];
+    }
+
+    /**
+     * Whether this match could still make the list
+     */
+    boolean accepts(int kind, SuggestionSegment segment, int entry) {
+        return size < limit || compare(kind, segment, entry, size - 1) < 0;
+    }
+
+    void offer(int kind, SuggestionSegment segment, int entry) {
+        if (size == limit && compare(kind, segment, entry, size - 1) >= 0) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (segments[i] == segment && entries[i] == entry) {
+                if (kind >= kinds[i]) {
+                    return;
+                }
+                remove(i);
+                break;
+            }
+        }
+
+        int at = size == limit ? limit - 1 : size++;
+        while (at > 0 && compare(kind, segment, entry, at - 1) < 0) {
+            kinds[at] = kinds[at - 1];
+            segments[at] = segments[at - 1];
+            entries[at] = entries[at - 1];
+            at--;
+        }
+        kinds[at] = kind;
+        segments[at] = segment;
+        entries[at] = entry;
+    }
+
+    List<SuggestionResponse> results() {
+        List<SuggestionResponse> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(segments[i].response(entries[i]));
+        }
+        return results;
+    }
+
+    private void remove(int at) {
+        size--;
+        System.arraycopy(kinds, at + 1, kinds, at, size - at);
+        System.arraycopy(segments, at + 1, segments, at, size - at);
+        System.arraycopy(entries, at + 1, entries, at, size - at);
+    }
+
+    private int compare(int kind, SuggestionSegment segment, int entry, int slot) {
+        if (kind != kinds[slot]) {
+            return Integer.compare(kind, kinds[slot]);
+        }
+        SuggestionSegment other = segments[slot];
+        int otherEntry = entries[slot];
+        if (segment == other) {
+            return Integer.compare(entry, otherEntry);
+        }
+        if (segment.featured(entry) != other.featured(otherEntry)) {
+            return segment.featured(entry) ? -1 : 1;
+        }
+        if (segment.length(entry) != other.length(otherEntry)) {
+            return Integer.compare(segment.length(entry), other.length(otherEntry));
+        }
+        int byName = segment.normalized(entry).compareTo(other.normalized(otherEntry));
+        if (byName != 0) {
+            return byName;
+        }
+        int byType = segment.response(entry).getType().compareTo(other.response(otherEntry).getType());
+        if (byType != 0) {
+            return byType;
+        }
+        // A brand's overlay entry and its hidden base entry are never both offered, so IDs never tie
+        return segment.response(entry).getId().compareTo(other.response(otherEntry).getId());
+    }
+}
@@ -0,0 +1,52 @@
+package com.zentro.feature.search.repository;
+
+import com.zentro.feature.search.dto.SuggestionType;
+import com.zentro.feature.search.index.SuggestionSource;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Loads the names typeahead suggestions are made for
+ * Reads only the columns the index needs, so a full reload stays cheap for large catalogs.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SuggestionSourceRepository {
+
+    private static final String BRANDS_SQL = "SELECT public_id, name, is_featured FROM brands ORDER BY id";
+
+    private static final String BRANDS_BY_ID_SQL = "SELECT public_id, name, is_featured FROM brands WHERE public_id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Every brand, in ID order
+     */
+    public List<SuggestionSource> findBrands() {
+        return jdbcTemplate.query(BRANDS_SQL, this::mapBrand);
+    }
+
+    /**
+     * The brands with these public IDs; IDs of deleted brands are left out
+     */
+    public List<SuggestionSource> findBrands(Collection<String> publicIds) {
+        if (publicIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(BRANDS_BY_ID_SQL, new MapSqlParameterSource("ids", publicIds), this::mapBrand);
+    }
+
+    private SuggestionSource mapBrand(ResultSet rs, int rowNum) throws SQLException {
+        return new SuggestionSource(
+                SuggestionType.BRAND, rs.getString("public_id"), rs.getString("name"), rs.getBoolean("is_featured"));
+    }
+}
@@ -0,0 +1,20 @@
+package com.zentro.feature.search.service;
+
+import com.zentro.feature.search.dto.SuggestionResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for catalog search operations
+ */
+public interface SearchService {
+
+    /**
+     * Suggest brands and categories whose names match what the user has typed so far
+     * 
+     * @param query Text typed so far
+     * @param limit Maximum number of suggestions, or null for the default
+     * @return Suggestions, best match first
+     */
+    List<SuggestionResponse> suggest(String query, Integer limit);
+}
@@ -0,0 +1,46 @@
+package com.zentro.feature.search.service.impl;
+
+import com.zentro.feature.search.dto.SuggestionResponse;
+import com.zentro.feature.search.index.SuggestionIndex;
+import com.zentro.feature.search.service.SearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of SearchService
+ * Suggestions are answered from the in-memory index without touching the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final SuggestionIndex suggestionIndex;
+
+    @Value("${app.search.suggest.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${app.search.suggest.max-limit:20}")
+    private int maxLimit;
+
+    @Override
+    public List<SuggestionResponse> suggest(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        // No name is longer than this, so longer queries cannot match anything more
+        String trimmed = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        int size = limit != null ? Math.max(1, Math.min(limit, maxLimit)) : defaultLimit;
+
+        log.debug("Suggesting up to {} names for: {}", size, trimmed);
+        return suggestionIndex.suggest(trimmed, size);
+    }
+}
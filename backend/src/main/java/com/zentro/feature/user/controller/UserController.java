@@ -1,11 +1,15 @@
 package com.zentro.feature.user.controller;
 
 import com.zentro.common.dto.ApiResponse;
+import com.zentro.common.dto.ConfirmImageUploadRequest;
+import com.zentro.common.dto.ImageUploadRequest;
+import com.zentro.common.dto.ImageUploadResponse;
 import com.zentro.common.security.UserPrincipal;
 import com.zentro.common.util.Constants;
 import com.zentro.feature.user.dto.request.UpdateProfileRequest;
 import com.zentro.feature.user.dto.request.UpdateUsernameRequest;
 import com.zentro.feature.user.dto.response.UserResponse;
+import com.zentro.feature.user.dto.response.UsernameAvailabilityResponse;
 import com.zentro.feature.user.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -96,6 +100,26 @@ public class UserController {
         );
     }
 
+    /**
+     * GET /api/v1/users/username-availability?username=
+     * Check if a username is free before trying to change to it
+     */
+    @GetMapping("/username-availability")
+    public ResponseEntity<ApiResponse<UsernameAvailabilityResponse>> checkUsernameAvailability(
+            @RequestParam("username") String username) {
+
+        UsernameAvailabilityResponse availability = userService.checkUsernameAvailability(username);
+
+        return ResponseEntity.ok(
+                ApiResponse.<UsernameAvailabilityResponse>builder()
+                        .success(true)
+                        .message(availability.getAvailable() ? "Username is available" : "Username is taken")
+                        .data(availability)
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
     /**
      * PUT /api/v1/users/profile/picture
      * Upload/update profile picture
@@ -118,6 +142,50 @@ public class UserController {
         );
     }
 
+    /**
+     * POST /api/v1/users/profile/picture/upload-url
+     * Get a presigned URL to upload a profile picture straight to storage
+     */
+    @PostMapping("/profile/picture/upload-url")
+    public ResponseEntity<ApiResponse<ImageUploadResponse>> createProfilePictureUpload(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @Valid @RequestBody ImageUploadRequest request) {
+
+        log.info("Creating profile picture upload URL for user: {}", userPrincipal.getId());
+        ImageUploadResponse upload = userService.createProfilePictureUpload(userPrincipal.getId(), request);
+
+        return ResponseEntity.ok(
+                ApiResponse.<ImageUploadResponse>builder()
+                        .success(true)
+                        .message(Constants.SUCCESS_UPLOAD_URL_CREATED)
+                        .data(upload)
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
+    /**
+     * POST /api/v1/users/profile/picture/confirm
+     * Attach a profile picture uploaded through a presigned URL
+     */
+    @PostMapping("/profile/picture/confirm")
+    public ResponseEntity<ApiResponse<UserResponse>> confirmProfilePictureUpload(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @Valid @RequestBody ConfirmImageUploadRequest request) {
+
+        log.info("Confirming profile picture upload for user: {}", userPrincipal.getId());
+        UserResponse user = userService.confirmProfilePictureUpload(userPrincipal.getId(), request.getKey());
+
+        return ResponseEntity.ok(
+                ApiResponse.<UserResponse>builder()
+                        .success(true)
+                        .message(Constants.SUCCESS_PROFILE_PICTURE_UPDATED)
+                        .data(user)
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
     /**
      * DELETE /api/v1/users/profile/picture
      * Delete profile picture
@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 /**
  * Response DTO for User data
  */
@@ -23,6 +25,8 @@ public class UserResponse {
     private String email;
     private String phoneNumber;
     private String profilePictureUrl;
+    private Map<String, String> profilePictureVariants; // width -> URL
+    private String profilePicturePlaceholder; // data: URI
     private Boolean emailVerified;
     private String role;
     
@@ -38,6 +42,8 @@ public class UserResponse {
                 .email(user.getEmail())
                 .phoneNumber(user.getPhoneNumber())
                 .profilePictureUrl(user.getProfilePictureUrl())
+                .profilePictureVariants(user.getProfilePictureVariants())
+                .profilePicturePlaceholder(user.getProfilePicturePlaceholder())
                 .emailVerified(user.getEmailVerified())
                 .role(user.getRole().name())
                 .build();
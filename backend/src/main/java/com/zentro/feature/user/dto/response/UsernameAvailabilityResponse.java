@@ -0,0 +1,19 @@
+package com.zentro.feature.user.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for username availability check
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsernameAvailabilityResponse {
+
+    private String username;
+    private Boolean available;
+}
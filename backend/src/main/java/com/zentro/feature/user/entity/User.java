@@ -9,22 +9,26 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * User entity representing users in the system
+ * The table is created by Flyway (V5), so the indexes below are for reference only; username
+ * also has a varchar_pattern_ops index (idx_username_pattern) for prefix LIKE lookups.
  */
 @Entity
 @Table(name = "users", indexes = {
         @Index(name = "idx_email", columnList = "email"),
         @Index(name = "idx_username", columnList = "username"),
         @Index(name = "idx_email_verified", columnList = "email_verified"),
-        @Index(name = "idx_is_deleted", columnList = "is_deleted"),
-        @Index(name = "idx_public_id", columnList = "public_id")
+        @Index(name = "idx_is_deleted", columnList = "is_deleted")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -61,6 +65,14 @@ public class User {
     @Column(name = "profile_picture_url", length = 500)
     private String profilePictureUrl;
 
+    // Resized copies of the picture keyed by width, and the inline placeholder
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "profile_picture_variants")
+    private Map<String, String> profilePictureVariants;
+
+    @Column(name = "profile_picture_placeholder", length = 2000)
+    private String profilePicturePlaceholder;
+
     @Column(name = "email_verified", nullable = false)
     @Builder.Default
     private Boolean emailVerified = false;
@@ -0,0 +1,144 @@
+package com.zentro.feature.user.index;
+
+import com.zentro.common.validator.UsernameValidator;
+import com.zentro.feature.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of taken usernames
+ * Lets availability checks answer "taken" without a database round trip.
+ * A miss is not authoritative (another node may have just taken the name), so callers
+ * confirm misses against the database. Kept current by this node's writes and
+ * rebuilt periodically to pick up other nodes' changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UsernameIndex {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.users.username-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.users.username-index.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private volatile Set<String> usernames = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    // Set while a rebuild is running so concurrent writes land in the new set too
+    private volatile Set<String> rebuilding;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("zentro.users.username.index.size", this, index -> index.usernames.size())
+                .description("Usernames held in the in-memory index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check if the index knows the username is taken
+     * Names with the anonymized-account prefix always count as taken.
+     * False means "unknown" until confirmed against the database
+     */
+    public boolean isKnownTaken(String username) {
+        return UsernameValidator.hasReservedPrefix(username) || (enabled && ready && usernames.contains(username));
+    }
+
+    /**
+     * Record a taken username once the current transaction commits
+     */
+    public void add(String username) {
+        afterCommit(() -> {
+            usernames.add(username);
+            Set<String> pending = rebuilding;
+            if (pending != null) {
+                pending.add(username);
+            }
+        });
+    }
+
+    /**
+     * Record a released username once the current transaction commits
+     */
+    public void remove(String username) {
+        afterCommit(() -> {
+            usernames.remove(username);
+            Set<String> pending = rebuilding;
+            if (pending != null) {
+                pending.remove(username);
+            }
+        });
+    }
+
+    /**
+     * Load every username from the database and swap it in
+     * Runs at startup and then periodically to drop names released on other nodes
+     */
+    @Scheduled(
+            initialDelayString = "${app.users.username-index.initial-delay-ms:0}",
+            fixedDelayString = "${app.users.username-index.refresh-interval-ms:3600000}"
+    )
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Set<String> loaded = ConcurrentHashMap.newKeySet();
+        rebuilding = loaded;
+
+        try {
+            long afterId = 0;
+            List<UserRepository.UsernameView> page;
+            do {
+                page = userRepository.findUsernamesAfter(afterId, PageRequest.ofSize(loadBatchSize));
+                for (UserRepository.UsernameView view : page) {
+                    loaded.add(view.getUsername());
+                    afterId = view.getId();
+                }
+            } while (page.size() == loadBatchSize);
+
+            usernames = loaded;
+            ready = true;
+            log.info("Username index loaded with {} entries in {} ms", loaded.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild username index, keeping previous contents", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.zentro.feature.user.job;
+
+import com.zentro.common.image.StoredImage;
+import com.zentro.common.maintenance.BatchResult;
+import com.zentro.common.maintenance.MaintenanceJob;
+import com.zentro.common.service.ImageReferences;
+import com.zentro.common.util.Constants;
+import com.zentro.common.util.ThreadFactories;
+import com.zentro.feature.user.index.UsernameIndex;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Anonymizes accounts soft-deleted longer than the grace period
+ * Users are split into partitions by ID; each batch processes every partition in parallel,
+ * each in its own short transaction that locks at most a few hundred rows. Personal data is
+ * overwritten with set-based UPDATEs, addresses, refresh tokens and OTPs are deleted in bulk,
+ * and profile pictures are released in the same transaction.
+ * The checkpoint is the last processed user ID of each partition.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountAnonymizationJob implements MaintenanceJob {
+
+    // Partition marker in the checkpoint once it has no more users to process
+    private static final String PARTITION_DONE = "done";
+
+    private static final String SELECT_SQL = """
+            SELECT id, username, profile_picture_url,
+                   ARRAY(SELECT key FROM jsonb_each_text(profile_picture_variants) ORDER BY key) AS variant_widths,
+                   ARRAY(SELECT value FROM jsonb_each_text(profile_picture_variants) ORDER BY key) AS variant_urls
+            FROM users
+            WHERE is_deleted = true AND anonymized = false AND deleted_at < :cutoff
+              AND id > :afterId AND id % :partitions = :partition
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String ANONYMIZE_SQL = """
+            UPDATE users SET
+                first_name = 'Deleted',
+                last_name = 'User',
+                -- The prefix is reserved, but names taken before it was fall back to the public ID
+                username = CASE WHEN EXISTS (SELECT 1 FROM users o WHERE o.username = 'deleted_' || users.id)
+                                THEN 'deleted_' || public_id ELSE 'deleted_' || id END,
+                email = 'deleted_' || id || '@anonymized.invalid',
+                password_hash = '!',
+                phone_number = NULL,
+                profile_picture_url = NULL,
+                profile_picture_variants = NULL,
+                profile_picture_placeholder = NULL,
+                anonymized = true,
+                updated_at = now()
+            WHERE id IN (:ids)
+            RETURNING username
+            """;
+
+    private static final List<String> PURGE_SQL = List.of(
+            "DELETE FROM addresses WHERE user_id IN (:ids)",
+            "DELETE FROM refresh_tokens WHERE user_id IN (:ids)",
+            "DELETE FROM otp_verifications WHERE user_id IN (:ids)"
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageReferences imageReferences;
+    private final UsernameIndex usernameIndex;
+
+    @Value("${app.users.anonymization.partitions:4}")
+    private int partitions;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        this.executor = Executors.newFixedThreadPool(partitions, ThreadFactories.blocking("anonymization", virtualThreads));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String getName() {
+        return "account-anonymization";
+    }
+
+    @Override
+    public BatchResult runBatch(String checkpoint, int batchSize) {
+        String[] positions = checkpoint != null ? checkpoint.split(",") : new String[0];
+        if (positions.length != partitions) {
+            // First run, or the partition count changed: rescanning is safe because finished rows are skipped
+            positions = new String[partitions];
+            Arrays.fill(positions, "0");
+        }
+
+        // Login restores accounts until a full day past the grace period, so never race it
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(Constants.ACCOUNT_DELETION_GRACE_PERIOD_DAYS + 1);
+        int limit = Math.max(1, batchSize / partitions);
+
+        List<CompletableFuture<PartitionResult>> futures = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            String position = positions[partition];
+            if (PARTITION_DONE.equals(position)) {
+                futures.add(CompletableFuture.completedFuture(new PartitionResult(0, PARTITION_DONE)));
+                continue;
+            }
+            int current = partition;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> processPartition(current, Long.parseLong(position), cutoff, limit), executor));
+        }
+
+        int processed = 0;
+        boolean allDone = true;
+        for (int partition = 0; partition < partitions; partition++) {
+            PartitionResult result = futures.get(partition).join();
+            processed += result.processed();
+            positions[partition] = result.position();
+            allDone &= PARTITION_DONE.equals(result.position());
+        }
+
+        return allDone ? BatchResult.done(processed) : BatchResult.more(processed, String.join(",", positions));
+    }
+
+    /**
+     * Anonymize the next slice of one partition in a single short transaction
+     */
+    private PartitionResult processPartition(int partition, long afterId, LocalDateTime cutoff, int limit) {
+        List<DeletedUser> users = transactionTemplate.execute(status -> {
+            List<DeletedUser> locked = jdbcTemplate.query(SELECT_SQL, new MapSqlParameterSource()
+                            .addValue("cutoff", cutoff)
+                            .addValue("afterId", afterId)
+                            .addValue("partitions", partitions)
+                            .addValue("partition", partition)
+                            .addValue("limit", limit),
+                    (rs, rowNum) -> new DeletedUser(
+                            rs.getLong("id"), rs.getString("username"), new StoredImage(
+                                    rs.getString("profile_picture_url"),
+                                    variants((String[]) rs.getArray("variant_widths").getArray(),
+                                            (String[]) rs.getArray("variant_urls").getArray()),
+                                    null)));
+
+            if (!locked.isEmpty()) {
+                MapSqlParameterSource ids = new MapSqlParameterSource(
+                        "ids", locked.stream().map(DeletedUser::id).toList());
+                PURGE_SQL.forEach(sql -> jdbcTemplate.update(sql, ids));
+                List<String> anonymizedUsernames = jdbcTemplate.queryForList(ANONYMIZE_SQL, ids, String.class);
+                // The index only changes once the rows are committed
+                locked.forEach(user -> usernameIndex.remove(user.username()));
+                anonymizedUsernames.forEach(usernameIndex::add);
+                // Shared pictures are deleted once nothing uses them; older ones after commit
+                imageReferences.releaseAll(locked.stream().map(DeletedUser::picture).toList());
+            }
+            return locked;
+        });
+
+        if (users == null || users.isEmpty()) {
+            return new PartitionResult(0, PARTITION_DONE);
+        }
+
+        log.debug("Anonymized {} users in partition {}", users.size(), partition);
+        long lastId = users.get(users.size() - 1).id();
+        return new PartitionResult(users.size(), users.size() < limit ? PARTITION_DONE : String.valueOf(lastId));
+    }
+
+    private static Map<String, String> variants(String[] widths, String[] urls) {
+        Map<String, String> variants = new LinkedHashMap<>();
+        for (int i = 0; i < widths.length; i++) {
+            variants.put(widths[i], urls[i]);
+        }
+        return variants;
+    }
+
+    private record DeletedUser(long id, String username, StoredImage picture) {
+    }
+
+    private record PartitionResult(int processed, String position) {
+    }
+}
@@ -2,10 +2,12 @@ package com.zentro.feature.user.repository;
 
 import com.zentro.feature.user.entity.User;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -44,6 +46,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByUsername(String username);
 
+    /**
+     * Find every username matching a LIKE pattern (backslash escapes wildcards)
+     * Used with a "base%" pattern to fetch all taken suffixes of a base username in one query
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username LIKE :pattern ESCAPE '\\'")
+    List<String> findUsernamesLike(String pattern);
+
+    /**
+     * Page through usernames in ID order (keyset pagination, for building the username index)
+     */
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UsernameView> findUsernamesAfter(Long afterId, Pageable pageable);
+
     /**
      * Check if username exists for a different user (excluding current user)
      */
@@ -54,4 +69,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.id = :id AND u.isDeleted = false")
     Optional<User> findActiveById(Long id);
+
+    /**
+     * Projection of a user's ID and username
+     */
+    interface UsernameView {
+        Long getId();
+
+        String getUsername();
+    }
 }
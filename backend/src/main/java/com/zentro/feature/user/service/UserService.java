@@ -1,6 +1,9 @@
 package com.zentro.feature.user.service;
 
+import com.zentro.common.dto.ImageUploadRequest;
+import com.zentro.common.dto.ImageUploadResponse;
 import com.zentro.feature.user.dto.response.UserResponse;
+import com.zentro.feature.user.dto.response.UsernameAvailabilityResponse;
 import com.zentro.feature.user.dto.request.UpdateProfileRequest;
 import com.zentro.feature.user.dto.request.UpdateUsernameRequest;
 
@@ -26,11 +29,26 @@ public interface UserService {
      */
     UserResponse updateUsername(Long userId, UpdateUsernameRequest request);
 
+    /**
+     * Check if a username is free to take
+     */
+    UsernameAvailabilityResponse checkUsernameAvailability(String username);
+
     /**
      * Upload/update profile picture
      */
     UserResponse updateProfilePicture(Long userId, MultipartFile file);
 
+    /**
+     * Issue a presigned URL for uploading a profile picture straight to storage
+     */
+    ImageUploadResponse createProfilePictureUpload(Long userId, ImageUploadRequest request);
+
+    /**
+     * Attach a profile picture uploaded through a presigned URL
+     */
+    UserResponse confirmProfilePictureUpload(Long userId, String key);
+
     /**
      * Delete profile picture
      */
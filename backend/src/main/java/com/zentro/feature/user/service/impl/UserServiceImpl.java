@@ -1,13 +1,19 @@
 package com.zentro.feature.user.service.impl;
 
+import com.zentro.common.dto.ImageUploadRequest;
+import com.zentro.common.dto.ImageUploadResponse;
 import com.zentro.common.exception.BadRequestException;
 import com.zentro.common.exception.ResourceNotFoundException;
+import com.zentro.common.image.StoredImage;
+import com.zentro.common.service.ImageReferences;
 import com.zentro.common.service.R2StorageService;
 import com.zentro.common.util.Constants;
 import com.zentro.feature.user.dto.request.UpdateProfileRequest;
 import com.zentro.feature.user.dto.request.UpdateUsernameRequest;
 import com.zentro.feature.user.dto.response.UserResponse;
+import com.zentro.feature.user.dto.response.UsernameAvailabilityResponse;
 import com.zentro.feature.user.entity.User;
+import com.zentro.feature.user.index.UsernameIndex;
 import com.zentro.feature.user.repository.UserRepository;
 import com.zentro.feature.user.service.UserService;
 
@@ -15,9 +21,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+
 /**
  * User Service implementation for user profile operations
  */
@@ -28,6 +36,9 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final R2StorageService r2StorageService;
+    private final ImageReferences imageReferences;
+    private final UsernameIndex usernameIndex;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
@@ -79,31 +90,87 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException(Constants.ERROR_USERNAME_ALREADY_TAKEN);
         }
 
+        String previousUsername = user.getUsername();
         user.setUsername(request.getUsername());
         user.setLastUsernameChangedAt(java.time.LocalDateTime.now());
         User updatedUser = userRepository.save(user);
+        usernameIndex.remove(previousUsername);
+        usernameIndex.add(updatedUser.getUsername());
         log.info("Username updated for user: {} to: {}", userId, request.getUsername());
 
         return UserResponse.from(updatedUser);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public UsernameAvailabilityResponse checkUsernameAvailability(String username) {
+        if (username == null || username.isBlank()) {
+            throw new BadRequestException(Constants.ERROR_USERNAME_REQUIRED);
+        }
+
+        // Index hits are answered from memory; misses are confirmed against the database
+        boolean taken = usernameIndex.isKnownTaken(username);
+        if (!taken && userRepository.existsByUsername(username)) {
+            usernameIndex.add(username);
+            taken = true;
+        }
+
+        return UsernameAvailabilityResponse.builder()
+                .username(username)
+                .available(!taken)
+                .build();
+    }
+
     @Override
     public UserResponse updateProfilePicture(Long userId, MultipartFile file) {
+        // Upload new profile picture and its variants to R2 before the transaction opens
+        StoredImage picture = r2StorageService.uploadImage(file, Constants.R2_FOLDER_PROFILE_PICTURES);
+
+        return transactionTemplate.execute(status -> {
+            // Swap references with the old picture
+            User user = findUserById(userId);
+            imageReferences.release(user.getProfilePictureUrl(), user.getProfilePictureVariants());
+            imageReferences.acquire(picture);
+            user.setProfilePictureUrl(picture.getUrl());
+            user.setProfilePictureVariants(picture.getVariants());
+            user.setProfilePicturePlaceholder(picture.getPlaceholder());
+
+            User updatedUser = userRepository.save(user);
+            log.info("Profile picture updated for user: {}", userId);
+
+            return UserResponse.from(updatedUser);
+        });
+    }
+
+    @Override
+    public ImageUploadResponse createProfilePictureUpload(Long userId, ImageUploadRequest request) {
         User user = findUserById(userId);
+        return r2StorageService.presignImageUpload(profilePicturePrefix(user),
+                request.getContentType(), request.getContentLength());
+    }
 
-        // Delete old profile picture if exists
-        if (user.getProfilePictureUrl() != null && !user.getProfilePictureUrl().isBlank()) {
-            r2StorageService.deleteFile(user.getProfilePictureUrl());
-        }
+    @Override
+    public UserResponse confirmProfilePictureUpload(Long userId, String key) {
+        StoredImage picture = r2StorageService.confirmImageUpload(profilePicturePrefix(findUserById(userId)), key);
 
-        // Upload new profile picture to R2
-        String profilePictureUrl = r2StorageService.uploadFile(file, Constants.R2_FOLDER_PROFILE_PICTURES);
-        user.setProfilePictureUrl(profilePictureUrl);
+        return transactionTemplate.execute(status -> {
+            User user = findUserById(userId);
 
-        User updatedUser = userRepository.save(user);
-        log.info("Profile picture updated for user: {}", userId);
+            // Confirming the same upload twice must not delete the attached picture
+            if (picture.getUrl().equals(user.getProfilePictureUrl())) {
+                return UserResponse.from(user);
+            }
 
-        return UserResponse.from(updatedUser);
+            imageReferences.release(user.getProfilePictureUrl(), user.getProfilePictureVariants());
+            imageReferences.acquire(picture);
+            user.setProfilePictureUrl(picture.getUrl());
+            user.setProfilePictureVariants(picture.getVariants());
+            user.setProfilePicturePlaceholder(picture.getPlaceholder());
+            User updatedUser = userRepository.save(user);
+            log.info("Profile picture attached from presigned upload for user: {}", userId);
+
+            return UserResponse.from(updatedUser);
+        });
     }
 
     @Override
@@ -115,11 +182,13 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("No profile picture to delete");
         }
 
-        // Delete file from R2
-        r2StorageService.deleteFile(user.getProfilePictureUrl());
+        // Release picture; it is deleted from R2 once nothing else uses it
+        imageReferences.release(user.getProfilePictureUrl(), user.getProfilePictureVariants());
 
-        // Remove URL from user
+        // Remove URLs from user
         user.setProfilePictureUrl(null);
+        user.setProfilePictureVariants(null);
+        user.setProfilePicturePlaceholder(null);
         User updatedUser = userRepository.save(user);
         log.info("Profile picture deleted for user: {}", userId);
 
@@ -146,6 +215,13 @@ public class UserServiceImpl implements UserService {
         log.info("Account deleted for user ID: {}", userId);
     }
 
+    /**
+     * Key prefix that a user's presigned profile picture uploads are scoped to
+     */
+    private String profilePicturePrefix(User user) {
+        return Constants.R2_FOLDER_PROFILE_PICTURES + "/" + user.getPublicId();
+    }
+
     /**
      * Find user by ID or throw exception
      */
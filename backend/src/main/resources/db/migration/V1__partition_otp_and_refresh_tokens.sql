@@ -0,0 +1,105 @@
+-- OTP codes and refresh tokens are pure TTL data. Both tables are range partitioned
+-- by expiry day so expired rows are removed by dropping whole partitions (see
+-- PartitionMaintenanceJob) instead of DELETE + vacuum.
+--
+-- Databases created by Hibernate already have plain tables: they are renamed, the
+-- unexpired rows are copied into the new tables, and the old tables are dropped.
+
+-- Rename the primary key and ID sequence along with each table so the new ones keep the usual names
+DO $$
+DECLARE
+    parent TEXT;
+    sequence_name TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['otp_verifications', 'refresh_tokens'] LOOP
+        IF to_regclass(parent) IS NOT NULL THEN
+            sequence_name := pg_get_serial_sequence(parent, 'id');
+            EXECUTE format('ALTER TABLE %I RENAME TO %I', parent, parent || '_legacy');
+            EXECUTE format('ALTER INDEX IF EXISTS %I RENAME TO %I', parent || '_pkey', parent || '_legacy_pkey');
+            IF sequence_name IS NOT NULL THEN
+                EXECUTE format('ALTER SEQUENCE %s RENAME TO %I', sequence_name, parent || '_legacy_id_seq');
+            END IF;
+        END IF;
+    END LOOP;
+END $$;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE otp_verifications (
+    id               BIGSERIAL,
+    user_id          BIGINT,
+    email            VARCHAR(100) NOT NULL,
+    otp_hash         VARCHAR(255) NOT NULL,
+    purpose          VARCHAR(50)  NOT NULL,
+    attempts         INTEGER      NOT NULL DEFAULT 0,
+    max_attempts     INTEGER      NOT NULL DEFAULT 5,
+    expires_at       TIMESTAMP(6) NOT NULL,
+    last_otp_sent_at TIMESTAMP(6),
+    otp_resend_count INTEGER      NOT NULL DEFAULT 0,
+    created_at       TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+-- token_hash can no longer be globally unique (unique keys must include expires_at);
+-- hashes of signed JWTs do not collide in practice
+CREATE TABLE refresh_tokens (
+    id         BIGSERIAL,
+    user_id    BIGINT       NOT NULL,
+    token_hash VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+-- Catches rows outside the premade daily partitions so inserts never fail
+CREATE TABLE otp_verifications_default PARTITION OF otp_verifications DEFAULT;
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
+
+-- Daily partitions for the coming days; the maintenance job keeps creating them ahead
+DO $$
+DECLARE
+    day DATE;
+    parent TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['otp_verifications', 'refresh_tokens'] LOOP
+        FOR day IN SELECT generate_series(current_date, current_date + 10, INTERVAL '1 day')::date LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                    parent || '_' || to_char(day, 'YYYYMMDD'), parent, day, day + 1);
+        END LOOP;
+    END LOOP;
+END $$;
+
+DO $$
+BEGIN
+    IF to_regclass('otp_verifications_legacy') IS NOT NULL THEN
+        INSERT INTO otp_verifications (id, user_id, email, otp_hash, purpose, attempts, max_attempts,
+                                       expires_at, last_otp_sent_at, otp_resend_count, created_at)
+        SELECT id, user_id, email, otp_hash, purpose, attempts, max_attempts,
+               expires_at, last_otp_sent_at, otp_resend_count, created_at
+        FROM otp_verifications_legacy
+        WHERE expires_at > now();
+
+        PERFORM setval(pg_get_serial_sequence('otp_verifications', 'id'),
+                (SELECT coalesce(max(id), 0) + 1 FROM otp_verifications_legacy), false);
+        DROP TABLE otp_verifications_legacy;
+    END IF;
+
+    IF to_regclass('refresh_tokens_legacy') IS NOT NULL THEN
+        INSERT INTO refresh_tokens (id, user_id, token_hash, expires_at, created_at)
+        SELECT id, user_id, token_hash, expires_at, created_at
+        FROM refresh_tokens_legacy
+        WHERE expires_at > now();
+
+        PERFORM setval(pg_get_serial_sequence('refresh_tokens', 'id'),
+                (SELECT coalesce(max(id), 0) + 1 FROM refresh_tokens_legacy), false);
+        DROP TABLE refresh_tokens_legacy;
+    END IF;
+END $$;
+
+-- Partitioned indexes, created on every partition. No expires_at index: partition
+-- pruning covers time filters and expired data leaves with its partition.
+CREATE INDEX idx_otp_user_purpose ON otp_verifications (user_id, purpose);
+CREATE INDEX idx_otp_email_purpose ON otp_verifications (email, purpose);
+CREATE INDEX idx_otp_email_last_sent ON otp_verifications (email, last_otp_sent_at);
+
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_token_hash ON refresh_tokens (token_hash);
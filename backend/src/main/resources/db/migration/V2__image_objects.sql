@@ -0,0 +1,15 @@
+-- Uploaded images are stored under a hash of their content, so identical uploads share one
+-- set of objects in R2. Each row counts the brand, category and user rows pointing at an
+-- image; the image-collection job deletes the objects once the count has stayed at zero
+-- for the retention window (see ImageObjectStore).
+
+CREATE TABLE IF NOT EXISTS image_objects (
+    object_key  VARCHAR(255) PRIMARY KEY,
+    variants    JSONB,
+    placeholder VARCHAR(2000),
+    ref_count   INTEGER NOT NULL DEFAULT 0,
+    created_at  TIMESTAMP NOT NULL DEFAULT now(),
+    released_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_image_objects_unused ON image_objects (released_at) WHERE ref_count = 0;
@@ -0,0 +1,10 @@
+-- Single-row counter bumped by every brand or category write, in the same transaction.
+-- Public catalog responses carry it as their ETag, and each node polls it to notice
+-- writes made elsewhere (see CatalogVersion).
+
+CREATE TABLE IF NOT EXISTS catalog_version (
+    id      SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    version BIGINT NOT NULL
+);
+
+INSERT INTO catalog_version (id, version) VALUES (1, 1) ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,71 @@
+-- Categories nest to any depth. category_closure holds one row per (ancestor, descendant)
+-- pair, including each category paired with itself at depth 0, so ancestors, subtrees and
+-- cycle checks are single indexed queries and a subtree moves in one statement (see
+-- CategoryHierarchyRepository).
+--
+-- The categories table moves under migrations so it can carry an expression index; databases
+-- created by Hibernate already have it and keep their data.
+
+CREATE TABLE IF NOT EXISTS categories (
+    id                BIGSERIAL PRIMARY KEY,
+    public_id         VARCHAR(50) NOT NULL,
+    name              VARCHAR(100) NOT NULL,
+    image_url         VARCHAR(500),
+    image_variants    JSONB,
+    image_placeholder VARCHAR(2000),
+    is_featured       BOOLEAN NOT NULL,
+    parent_id         BIGINT REFERENCES categories (id),
+    created_at        TIMESTAMP NOT NULL,
+    updated_at        TIMESTAMP NOT NULL,
+    CONSTRAINT idx_category_public_id UNIQUE (public_id)
+);
+
+-- Columns the entity gained after the table was first created by Hibernate
+ALTER TABLE categories
+    ADD COLUMN IF NOT EXISTS image_variants JSONB,
+    ADD COLUMN IF NOT EXISTS image_placeholder VARCHAR(2000);
+
+CREATE INDEX IF NOT EXISTS idx_category_name ON categories (name);
+CREATE INDEX IF NOT EXISTS idx_category_parent_id ON categories (parent_id);
+CREATE INDEX IF NOT EXISTS idx_category_featured ON categories (is_featured);
+
+-- Moving a category under one of its own descendants used to be allowed; such loops have no
+-- root, so their members become roots again
+WITH RECURSIVE reachable AS (
+    SELECT id FROM categories WHERE parent_id IS NULL
+    UNION
+    SELECT c.id FROM categories c JOIN reachable r ON c.parent_id = r.id
+)
+UPDATE categories SET parent_id = NULL
+WHERE id NOT IN (SELECT id FROM reachable);
+
+-- Sibling names used to be unique only case-sensitively; later duplicates get their ID appended
+UPDATE categories c
+SET name = left(c.name, 100 - length(c.public_id) - 3) || ' (' || c.public_id || ')'
+WHERE EXISTS (
+    SELECT 1 FROM categories o
+    WHERE COALESCE(o.parent_id, 0) = COALESCE(c.parent_id, 0)
+      AND lower(o.name) = lower(c.name)
+      AND o.id < c.id
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_category_sibling_name ON categories (COALESCE(parent_id, 0), lower(name));
+
+CREATE TABLE IF NOT EXISTS category_closure (
+    ancestor_id   BIGINT NOT NULL REFERENCES categories (id) ON DELETE CASCADE,
+    descendant_id BIGINT NOT NULL REFERENCES categories (id) ON DELETE CASCADE,
+    depth         INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_category_closure_descendant ON category_closure (descendant_id, depth);
+
+WITH RECURSIVE paths AS (
+    SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth FROM categories
+    UNION ALL
+    SELECT p.ancestor_id, c.id, p.depth + 1
+    FROM paths p JOIN categories c ON c.parent_id = p.descendant_id
+)
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+SELECT ancestor_id, descendant_id, depth FROM paths
+ON CONFLICT (ancestor_id, descendant_id) DO NOTHING;
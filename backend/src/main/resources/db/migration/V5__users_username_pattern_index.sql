@@ -0,0 +1,46 @@
+-- Signup looks up every taken "base%" username in one LIKE query (UserRepository.findUsernamesLike).
+-- Under a non-C collation a plain btree index cannot serve LIKE prefixes, so username also gets a
+-- varchar_pattern_ops index.
+--
+-- The users table moves under migrations so it can carry that index; databases created by
+-- Hibernate already have it and keep their data.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                          BIGSERIAL PRIMARY KEY,
+    public_id                   VARCHAR(50) NOT NULL,
+    first_name                  VARCHAR(50) NOT NULL,
+    last_name                   VARCHAR(50) NOT NULL,
+    username                    VARCHAR(50) NOT NULL,
+    email                       VARCHAR(100) NOT NULL,
+    password_hash               VARCHAR(255) NOT NULL,
+    phone_number                VARCHAR(20),
+    profile_picture_url         VARCHAR(500),
+    profile_picture_variants    JSONB,
+    profile_picture_placeholder VARCHAR(2000),
+    email_verified              BOOLEAN NOT NULL,
+    role                        VARCHAR(20) NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    failed_otp_attempts         INTEGER NOT NULL,
+    account_locked_until        TIMESTAMP,
+    last_username_changed_at    TIMESTAMP,
+    is_deleted                  BOOLEAN NOT NULL,
+    deleted_at                  TIMESTAMP,
+    anonymized                  BOOLEAN NOT NULL,
+    created_at                  TIMESTAMP NOT NULL,
+    updated_at                  TIMESTAMP,
+    CONSTRAINT uk_users_public_id UNIQUE (public_id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Columns the entity gained after the table was first created by Hibernate
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS profile_picture_variants JSONB,
+    ADD COLUMN IF NOT EXISTS profile_picture_placeholder VARCHAR(2000);
+
+CREATE INDEX IF NOT EXISTS idx_email ON users (email);
+CREATE INDEX IF NOT EXISTS idx_username ON users (username);
+CREATE INDEX IF NOT EXISTS idx_email_verified ON users (email_verified);
+CREATE INDEX IF NOT EXISTS idx_is_deleted ON users (is_deleted);
+-- idx_public_id is taken by addresses; public_id is already indexed by its unique constraint
+
+CREATE INDEX IF NOT EXISTS idx_username_pattern ON users (username varchar_pattern_ops);
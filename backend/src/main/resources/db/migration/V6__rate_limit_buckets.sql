@@ -0,0 +1,14 @@
+-- Shared token buckets for the distributed rate limiter (app.rate-limit.mode=distributed).
+-- Rows are disposable: UNLOGGED skips the WAL, and a bucket lost in a crash only starts
+-- full again. full_at is when a bucket will be full, so idle rows can be dropped without
+-- loosening any limit (see PostgresLeaseRateLimiter).
+
+CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key  VARCHAR(512) PRIMARY KEY,
+    tokens      DOUBLE PRECISION NOT NULL,
+    granted     DOUBLE PRECISION NOT NULL,
+    refilled_at TIMESTAMPTZ NOT NULL,
+    full_at     TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_full_at ON rate_limit_buckets (full_at);
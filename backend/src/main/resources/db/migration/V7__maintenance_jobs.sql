@@ -0,0 +1,13 @@
+-- Progress of each maintenance job, one row per job. A run saves its checkpoint after every
+-- batch, so a run interrupted by a node failure resumes where it stopped; the runner's
+-- advisory lock keeps a job to one node at a time (see MaintenanceJobRunner).
+
+CREATE TABLE IF NOT EXISTS maintenance_jobs (
+    job_name         VARCHAR(100) PRIMARY KEY,
+    status           VARCHAR(20) NOT NULL,
+    checkpoint       VARCHAR(255),
+    rows_processed   BIGINT NOT NULL DEFAULT 0,
+    last_started_at  TIMESTAMP,
+    last_finished_at TIMESTAMP,
+    last_error       VARCHAR(500)
+);
@@ -0,0 +1,10 @@
+-- Which brand or category each catalog version bump was for, written in the same transaction.
+-- A node moving from the version it serves to a newer one reads the rows in between and
+-- refreshes only those entities (see CatalogVersion). Only recent versions are kept; a node
+-- that falls further behind reloads everything.
+
+CREATE TABLE IF NOT EXISTS catalog_changes (
+    version   BIGINT PRIMARY KEY,
+    entity    VARCHAR(20) NOT NULL CHECK (entity IN ('BRAND', 'CATEGORY')),
+    public_id VARCHAR(50) NOT NULL
+);